@@ -0,0 +1,61 @@
+#!/usr/bin/env python3
+
+# File:    yt-dlp-worker.py
+# Author:  Zachary Gill
+# Repo:    https://github.com/ZGorlock/YoutubeDownloader
+
+"""
+A persistent yt-dlp download worker for the Youtube Channel Downloader.
+
+Once yt-dlp has been loaded, the worker prints a line marking that it is ready: [ready]
+Download jobs are then read from stdin, one json object per line: {"id": "1", "args": ["--output", "...", "<url>"]}
+The output of each job is written to stdout, followed by a line marking its completion: [job] {"id": "1", "code": 0}
+The yt-dlp executable may be passed as the first argument, so that it can be imported when it is a zip application.
+Otherwise, such as with the Windows yt-dlp.exe, yt_dlp must be installed in the Python running the worker.
+"""
+
+import json
+import sys
+import zipfile
+
+if (len(sys.argv) > 1) and zipfile.is_zipfile(sys.argv[1]):
+    sys.path.insert(0, sys.argv[1])
+
+try:
+    import yt_dlp
+except ImportError:
+    print("ERROR: yt_dlp could not be imported; install yt-dlp in Python or set a custom workerCommand", flush=True)
+    sys.exit(1)
+
+READY_TAG = "[ready]"
+JOB_TAG = "[job]"
+
+
+def run(args):
+    try:
+        options = yt_dlp.parse_options(args)
+        with yt_dlp.YoutubeDL(options.ydl_opts) as ydl:
+            return ydl.download(options.urls)
+    except SystemExit as e:
+        return e.code if isinstance(e.code, int) else 1
+    except Exception as e:
+        print("ERROR: " + str(e))
+        return 1
+
+
+def main():
+    print(READY_TAG, flush=True)
+    
+    for line in sys.stdin:
+        if not line.strip():
+            continue
+        
+        job = json.loads(line)
+        code = run(job.get("args", []))
+        
+        sys.stderr.flush()
+        print(JOB_TAG + " " + json.dumps({"id": job.get("id"), "code": code}), flush=True)
+
+
+if __name__ == "__main__":
+    main()
@@ -8,22 +8,25 @@
 package commons.access;
 
 import java.io.BufferedReader;
+import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import commons.io.console.ProgressBar;
-import commons.object.collection.ListUtility;
 import commons.object.collection.MapUtility;
 import commons.object.string.StringUtility;
 import org.slf4j.Logger;
@@ -49,6 +52,15 @@ public final class CmdLine {
      */
     private static final Map<Process, String> runningProcesses = MapUtility.synchronizedMap();
     
+    /**
+     * The shared pool of daemon threads that read the output of running processes.
+     */
+    private static final ExecutorService outputReaders = Executors.newCachedThreadPool(task -> {
+        final Thread thread = Executors.defaultThreadFactory().newThread(task);
+        thread.setDaemon(true);
+        return thread;
+    });
+    
     //Attempts to terminate synchronous cmd processes that were started during this session and are still running
     static {
         Runtime.getRuntime().addShutdownHook(new Thread(() -> runningProcesses.forEach((key, value) -> {
@@ -65,79 +77,43 @@ public final class CmdLine {
     //Static Methods
     
     /**
-     * Executes a command on the system command line.
+     * Executes a command on the system command line.<br>
+     * The output of the command is read by threads from a shared pool, and is passed to the line handler as each line is produced.
      *
      * @param cmd         The command to execute.
      * @param safeExecute If true, if exception occurs, null will be returned instead of the exception.
-     * @param progressBar The progress bar to send the command output to.
-     * @return The output; error lines are proceeded by '[*]'; or null if there was an error and safeExecute is enabled.
+     * @param lineHandler The handler to send each line of the command output to, along with whether it is an error line, or null.
+     * @param tailLines   The maximum number of lines of the command output to retain, or -1 to retain all of it.
+     * @return The retained output; error lines are proceeded by '[*]'; or null if there was an error and safeExecute is enabled.
      * @throws RuntimeException When there is an error executing the command and safeExecute is not enabled.
      */
-    @SuppressWarnings("StatementWithEmptyBody")
-    public static String executeCmd(String cmd, boolean safeExecute, ProgressBar progressBar) throws RuntimeException {
+    public static String executeCmd(String cmd, boolean safeExecute, BiConsumer<String, Boolean> lineHandler, int tailLines) throws RuntimeException {
         try {
             final ProcessBuilder builder = buildProcess(cmd);
             if (builder == null) {
                 return null;
             }
             
-            final AtomicReference<Process> process = new AtomicReference<>(null);
-            final List<String> response = ListUtility.synchronizedList();
-            
-            final ExecutorService logReaders = Executors.newFixedThreadPool(2, task -> {
-                final Thread thread = Executors.defaultThreadFactory().newThread(task);
-                thread.setDaemon(true);
-                return thread;
-            });
-            final CountDownLatch logReadersLatch = new CountDownLatch(2);
-            logReaders.execute(() -> {
-                while (process.get() == null) {
-                }
-                try (BufferedReader errorReader = new BufferedReader(new InputStreamReader(process.get().getErrorStream()))) {
-                    String line;
-                    while ((line = errorReader.readLine()) != null) {
-                        response.add("[*]" + line);
-                        if (progressBar != null) {
-                            progressBar.processLog(line, true);
-                        }
-                    }
-                } catch (Exception ignored) {
-                } finally {
-                    logReadersLatch.countDown();
-                }
-            });
-            logReaders.execute(() -> {
-                while (process.get() == null) {
-                }
-                try (BufferedReader logReader = new BufferedReader(new InputStreamReader(process.get().getInputStream()))) {
-                    String line;
-                    while ((line = logReader.readLine()) != null) {
-                        response.add(line);
-                        if (progressBar != null) {
-                            progressBar.processLog(line, false);
-                        }
-                    }
-                } catch (Exception ignored) {
-                } finally {
-                    logReadersLatch.countDown();
-                }
-            });
-            
-            process.set(builder.start());
-            runningProcesses.put(process.get(), cmd);
-            
-            process.get().waitFor();
-            logReadersLatch.await();
-            logReaders.shutdown();
+            final OutputTail response = new OutputTail(tailLines);
             
-            process.get().destroy();
-            process.get().descendants().forEachOrdered(ProcessHandle::destroy);
-            runningProcesses.remove(process.get());
+            final Process process = builder.start();
+            runningProcesses.put(process, cmd);
             
-            if (progressBar != null) {
-                progressBar.complete();
+            try {
+                final CountDownLatch logReadersLatch = new CountDownLatch(2);
+                readOutput(process.getErrorStream(), true, response, lineHandler, logReadersLatch);
+                readOutput(process.getInputStream(), false, response, lineHandler, logReadersLatch);
+                
+                process.waitFor();
+                logReadersLatch.await();
+                
+            } finally {
+                process.destroy();
+                process.descendants().forEachOrdered(ProcessHandle::destroy);
+                runningProcesses.remove(process);
             }
-            return StringUtility.unsplitLines(response);
+            
+            return response.toString();
             
         } catch (Exception e) {
             logger.error("Error executing command: " + StringUtility.quote(cmd), e);
@@ -149,6 +125,41 @@ public final class CmdLine {
         }
     }
     
+    /**
+     * Executes a command on the system command line.
+     *
+     * @param cmd         The command to execute.
+     * @param safeExecute If true, if exception occurs, null will be returned instead of the exception.
+     * @param progressBar The progress bar to send the command output to.
+     * @param tailLines   The maximum number of lines of the command output to retain, or -1 to retain all of it.
+     * @return The retained output; error lines are proceeded by '[*]'; or null if there was an error and safeExecute is enabled.
+     * @throws RuntimeException When there is an error executing the command and safeExecute is not enabled.
+     * @see #executeCmd(String, boolean, BiConsumer, int)
+     */
+    public static String executeCmd(String cmd, boolean safeExecute, ProgressBar progressBar, int tailLines) throws RuntimeException {
+        final String response = executeCmd(cmd, safeExecute,
+                ((progressBar == null) ? null : progressBar::processLog), tailLines);
+        
+        if ((response != null) && (progressBar != null)) {
+            progressBar.complete();
+        }
+        return response;
+    }
+    
+    /**
+     * Executes a command on the system command line.
+     *
+     * @param cmd         The command to execute.
+     * @param safeExecute If true, if exception occurs, null will be returned instead of the exception.
+     * @param progressBar The progress bar to send the command output to.
+     * @return The output; error lines are proceeded by '[*]'; or null if there was an error and safeExecute is enabled.
+     * @throws RuntimeException When there is an error executing the command and safeExecute is not enabled.
+     * @see #executeCmd(String, boolean, ProgressBar, int)
+     */
+    public static String executeCmd(String cmd, boolean safeExecute, ProgressBar progressBar) throws RuntimeException {
+        return executeCmd(cmd, safeExecute, progressBar, -1);
+    }
+    
     /**
      * Executes a command on the system command line.
      *
@@ -199,6 +210,32 @@ public final class CmdLine {
         }
     }
     
+    /**
+     * Reads the output stream of a running process on a thread from the shared pool.
+     *
+     * @param stream      The output stream of the process.
+     * @param error       Whether the stream is the error stream of the process or not.
+     * @param response    The retained output of the process.
+     * @param lineHandler The handler to send each line of the output to, or null.
+     * @param latch       The latch to count down once the stream has been read.
+     */
+    private static void readOutput(InputStream stream, boolean error, OutputTail response, BiConsumer<String, Boolean> lineHandler, CountDownLatch latch) {
+        outputReaders.execute(() -> {
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(stream))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    response.add(error ? ("[*]" + line) : line);
+                    if (lineHandler != null) {
+                        lineHandler.accept(line, error);
+                    }
+                }
+            } catch (Exception ignored) {
+            } finally {
+                latch.countDown();
+            }
+        });
+    }
+    
     /**
      * Builds a process from a command.
      *
@@ -257,6 +294,62 @@ public final class CmdLine {
     
     //Inner Classes
     
+    /**
+     * Retains the most recent lines of the output of a process in a bounded ring buffer.
+     */
+    private static final class OutputTail {
+        
+        //Fields
+        
+        /**
+         * The retained lines of output.
+         */
+        private final Deque<String> lines = new ArrayDeque<>();
+        
+        /**
+         * The maximum number of lines of output to retain, or -1 to retain all of them.
+         */
+        private final int limit;
+        
+        
+        //Constructors
+        
+        /**
+         * The private constructor for an Output Tail.
+         *
+         * @param limit The maximum number of lines of output to retain, or -1 to retain all of them.
+         */
+        private OutputTail(int limit) {
+            this.limit = limit;
+        }
+        
+        
+        //Methods
+        
+        /**
+         * Adds a line of output, discarding the oldest line if the Output Tail is full.
+         *
+         * @param line The line of output.
+         */
+        public synchronized void add(String line) {
+            lines.addLast(line);
+            if ((limit >= 0) && (lines.size() > limit)) {
+                lines.removeFirst();
+            }
+        }
+        
+        /**
+         * Returns the retained lines of output.
+         *
+         * @return The retained lines of output.
+         */
+        @Override
+        public synchronized String toString() {
+            return StringUtility.unsplitLines(new ArrayList<>(lines));
+        }
+        
+    }
+    
     /**
      * Handles the termination of running processes.
      */
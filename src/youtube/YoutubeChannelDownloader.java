@@ -9,8 +9,16 @@ package youtube;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -18,7 +26,11 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import commons.access.Filesystem;
 import commons.access.Internet;
@@ -26,6 +38,8 @@ import commons.time.DateTimeUtility;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import youtube.channel.Channels;
+import youtube.channel.config.ChannelConfig;
+import youtube.channel.config.ChannelEntry;
 import youtube.channel.process.ChannelProcesses;
 import youtube.config.Color;
 import youtube.config.Configurator;
@@ -58,16 +72,6 @@ public class YoutubeChannelDownloader {
     
     //Static Fields
     
-    /**
-     * The current Channel being processed.
-     */
-    public static Channel channel = null;
-    
-    /**
-     * The video map for the Channel being processed.
-     */
-    private static final Map<String, Video> videoMap = new LinkedHashMap<>();
-    
     /**
      * The program start time.
      */
@@ -109,7 +113,7 @@ public class YoutubeChannelDownloader {
         KeyStore.initKeystore();
         
         logger.trace(LogUtils.NEWLINE);
-        Channels.getFiltered().forEach(YoutubeChannelDownloader::processChannel);
+        processChannels(Channels.getFiltered());
         logger.trace(LogUtils.NEWLINE);
         
         KeyStore.saveKeyStore();
@@ -124,345 +128,586 @@ public class YoutubeChannelDownloader {
     }
     
     /**
-     * Processes a Channel.
-     *
-     * @param channelKey The key of the Channel.
-     * @return Whether the Channel was successfully processed or not.
-     */
-    private static boolean processChannel(String channelKey) {
-        channel = Channels.getChannel(channelKey);
-        return processChannel();
-    }
-    
-    /**
-     * Processes the active Channel.
+     * Processes a list of Channels.<br>
+     * Channels with a higher priority are processed first, and while the videos of one Channel are downloading, the upcoming Channels are prepared in the background.
      *
-     * @return Whether the Channel was successfully processed or not.
+     * @param channelKeys The list of keys of the Channels.
      */
-    private static boolean processChannel() {
-        if ((channel == null) || !channel.getConfig().isActive()) {
-            return false;
-        }
+    private static void processChannels(List<String> channelKeys) {
+        final List<ChannelProcessor> processors = channelKeys.stream()
+                .map(ChannelProcessor::new)
+                .sorted(Comparator.comparingInt(ChannelProcessor::getPriority).reversed())
+                .collect(Collectors.toList());
         
-        logger.trace(LogUtils.NEWLINE);
-        if (!Configurator.Config.preventProcess) {
-            logger.info(Color.base("Processing Channel: ") + Color.channelDisplayName(channel));
-        } else {
-            logger.info(Color.bad("Would have processed Channel: ") + Color.channelDisplayName(channel) + Color.bad(" but processing is disabled"));
-            logger.trace(LogUtils.NEWLINE);
-            return false;
-        }
-        
-        boolean success = Internet.isOnline() &&
-                initChannel() &&
-                loadChannelData() &&
-                produceQueue() &&
-                downloadVideos() &&
-                createPlaylist() &&
-                cleanChannel();
+        final int prefetch = Math.max(0, Optional.ofNullable(Channels.Config.prefetchChannels)
+                .orElse(Channels.Config.DEFAULT_PREFETCH_CHANNELS).intValue());
+        final ExecutorService executor = (prefetch > 0) ? Executors.newFixedThreadPool(prefetch) : null;
         
-        Stats.totalChannelsProcessed.incrementAndGet();
-        
-        logger.trace(LogUtils.NEWLINE);
-        return success;
-    }
-    
-    /**
-     * Initializes the active Channel.
-     *
-     * @return Whether the Channel was successfully initialized or not.
-     */
-    private static boolean initChannel() {
         try {
-            videoMap.clear();
-            
-            if (!Configurator.Config.preventChannelFetch) {
-                channel.getState().cleanupCache();
+            for (int i = 0; i < processors.size(); i++) {
+                if (executor != null) {
+                    final List<ChannelProcessor> window = processors.subList(i, Math.min((i + prefetch + 1), processors.size()));
+                    IntStream.range(1, window.size())
+                            .filter(j -> window.subList(0, j).stream().noneMatch(window.get(j)::conflictsWith))
+                            .mapToObj(window::get)
+                            .forEach(processor -> processor.schedule(executor));
+                }
+                
+                processors.get(i).process();
             }
-            
-            WebUtils.checkPlaylistId(channel.getConfig());
-            channel.getInfo();
-            
-        } catch (Exception e) {
-            logger.error(Color.bad("Failed to initialize Channel: ") + Color.channelName(channel) + Color.bad(" for processing"), e);
-            return false;
+        } finally {
+            Optional.ofNullable(executor).ifPresent(ExecutorService::shutdownNow);
         }
-        return true;
     }
     
-    /**
-     * Loads the data for the active Channel.
-     *
-     * @return Whether the Channel data was successfully loaded or not.
-     */
-    private static boolean loadChannelData() {
-        try {
-            final Set<String> videoTitles = new HashSet<>();
-            ApiUtils.fetchChannelVideos(channel).stream()
-                    .filter(Objects::nonNull).filter(VideoInfo::isValid)
-                    .map(videoInfo -> new Video(videoInfo, channel))
-                    .filter(video -> videoTitles.add(video.getTitle()))
-                    .forEach(video -> videoMap.put(video.getInfo().getVideoId(), video));
-        } catch (Exception e) {
-            logger.error(Color.bad("Failed to load the data of Channel: ") + Color.channelName(channel), e);
-            return false;
-        }
-        return true;
-    }
+    
+    //Inner Classes
     
     /**
-     * Produces the queue of videos to download from the active Channel.
-     *
-     * @return Whether the queue was successfully produced or not.
+     * Processes a single Channel.<br>
+     * The Channel is prepared first, which may happen in the background, and then its videos are downloaded.
      */
-    @SuppressWarnings("ResultOfMethodCallIgnored")
-    private static boolean produceQueue() {
-        if (videoMap.isEmpty()) {
-            logger.warn(Color.bad("Must populate video map before producing the queue"));
-            return false;
+    private static class ChannelProcessor {
+        
+        //Fields
+        
+        /**
+         * The Channel being processed.
+         */
+        private final Channel channel;
+        
+        /**
+         * The video map for the Channel being processed.
+         */
+        private final Map<String, Video> videoMap = new LinkedHashMap<>();
+        
+        /**
+         * The log entries produced while the Channel was being prepared in the background.
+         */
+        private final List<Runnable> logBuffer = new ArrayList<>();
+        
+        /**
+         * A flag indicating whether log entries are currently being buffered or not.
+         */
+        private boolean buffered = false;
+        
+        /**
+         * The background preparation of the Channel, or null if the Channel has not been scheduled for preparation.
+         */
+        private Future<Boolean> preparation = null;
+        
+        
+        //Constructors
+        
+        /**
+         * Creates a new Channel Processor.
+         *
+         * @param channelKey The key of the Channel.
+         */
+        public ChannelProcessor(String channelKey) {
+            this.channel = Channels.getChannel(channelKey);
         }
         
-        channel.getState().getQueued().clear();
-        if (Configurator.Config.retryPreviousFailures) {
-            channel.getState().getBlocked().clear();
+        
+        //Methods
+        
+        /**
+         * Returns whether the Channel should be processed or not.
+         *
+         * @return Whether the Channel should be processed or not.
+         */
+        private boolean isProcessable() {
+            return (channel != null) && channel.getConfig().isActive() && !Configurator.Config.preventProcess;
         }
         
-        if (Channels.Config.enableCustomRenameProcesses) {
-            ChannelProcesses.performSpecialPreConditions(channel, videoMap);
+        /**
+         * Returns the priority of the Channel.
+         *
+         * @return The priority of the Channel.
+         */
+        private int getPriority() {
+            return Optional.ofNullable(channel).map(Channel::getConfig).map(ChannelConfig::getPriority)
+                    .orElse(ChannelEntry.DEFAULT_PRIORITY);
         }
         
-        videoMap.values().stream().collect(Collectors.groupingBy(Video::getTitle)).entrySet()
-                .stream().filter(e -> (e.getValue().size() > 1)).forEach(e ->
-                        logger.warn(Color.bad("The title: ") + Color.quoteVideoTitle(e.getValue().get(0)) + Color.bad(" appears ") + Color.number(e.getValue().size()) + Color.bad(" times")));
+        /**
+         * Returns whether the Channel may not be prepared while another Channel is being processed.
+         *
+         * @param other The other Channel Processor.
+         * @return Whether the Channel conflicts with the other Channel or not.
+         */
+        private boolean conflictsWith(ChannelProcessor other) {
+            return (channel != null) && (other.channel != null) &&
+                    Objects.equals(channel.getConfig().getOutputFolder(), other.channel.getConfig().getOutputFolder());
+        }
         
-        videoMap.forEach((videoId, video) -> {
-            channel.getState().getSaved().remove(videoId);
-            
-            if (video.getOutput().exists() && FileUtils.getCanonical(video.getOutput()).getAbsolutePath().equals(video.getOutput().getAbsolutePath())) {
-                channel.getState().getSaved().add(videoId);
-                channel.getState().getBlocked().remove(videoId);
-                channel.getState().getKeyStore().put(video);
-                
-            } else if (!channel.getState().getBlocked().contains(videoId)) {
-                File oldOutput = Optional.ofNullable(channel.getState().getKeyStore().get(videoId))
-                        .map(KeyStore.KeyStoreEntry::getLocalPath)
-                        .map(File::new).filter(File::exists)
-                        .map(FileUtils::getCanonical).filter(File::exists)
-                        .orElseGet(() -> FileUtils.findVideoFile(video.getOutput()));
-                
-                if ((oldOutput == null) || !oldOutput.exists()) {
-                    channel.getState().getQueued().add(videoId);
-                    
-                } else {
-                    File newOutput = Optional.ofNullable(video.getOutput()).map(File::getName)
-                            .map(e -> FileUtils.setFormat(e, FileUtils.getFormat(oldOutput.getName())))
-                            .map(e -> new File(video.getConfig().getOutputFolder(), e))
-                            .orElse(oldOutput);
-                    
-                    if (oldOutput.getName().equals(newOutput.getName())) {
-                        video.updateOutput(newOutput);
-                        
-                    } else if (!Configurator.Config.preventRenaming) {
-                        logger.info(Color.base("Renaming: ") + Color.quoteVideoFileName(oldOutput) + Color.log(" to: ") + Color.quoteVideoFileName(newOutput));
-                        
-                        oldOutput.renameTo(newOutput);
-                        video.updateOutput(newOutput);
-                        
-                        if (channel.getConfig().isSaveAsAudio()) {
-                            Stats.totalAudioRenames.incrementAndGet();
-                        } else {
-                            Stats.totalVideoRenames.incrementAndGet();
-                        }
-                        
-                    } else {
-                        logger.info(Color.bad("Would have renamed: ") + Color.quoteVideoFileName(oldOutput) + Color.log(" to: ") + Color.quoteVideoFileName(newOutput) + Color.bad(" but renaming is disabled"));
-                        video.updateOutput(oldOutput);
-                    }
-                    
-                    channel.getState().getSaved().add(videoId);
-                    channel.getState().getKeyStore().put(video);
+        /**
+         * Schedules the preparation of the Channel in the background, if it has not been scheduled already.
+         *
+         * @param executor The executor to prepare the Channel on.
+         */
+        private synchronized void schedule(ExecutorService executor) {
+            if ((preparation == null) && isProcessable()) {
+                synchronized (logBuffer) {
+                    buffered = true;
                 }
+                preparation = executor.submit(this::prepareInBackground);
             }
-        });
+        }
         
-        if (Channels.Config.enableCustomFilterProcesses) {
-            ChannelProcesses.performSpecialPostConditions(channel, videoMap);
+        /**
+         * Processes the Channel.
+         *
+         * @return Whether the Channel was successfully processed or not.
+         */
+        private boolean process() {
+            if ((channel == null) || !channel.getConfig().isActive()) {
+                return false;
+            }
+            
+            logger.trace(LogUtils.NEWLINE);
+            if (!Configurator.Config.preventProcess) {
+                logger.info(Color.base("Processing Channel: ") + Color.channelDisplayName(channel));
+            } else {
+                logger.info(Color.bad("Would have processed Channel: ") + Color.channelDisplayName(channel) + Color.bad(" but processing is disabled"));
+                logger.trace(LogUtils.NEWLINE);
+                return false;
+            }
+            
+            boolean success = awaitPreparation() &&
+                    downloadVideos() &&
+                    createPlaylist() &&
+                    cleanChannel();
+            
+            ApiUtils.releaseCache(channel.getState());
+            Stats.totalChannelsProcessed.increment();
+            
+            logger.trace(LogUtils.NEWLINE);
+            return success;
         }
         
-        channel.getState().save();
-        return true;
-    }
-    
-    /**
-     * Downloads the queued videos from the active Channel.
-     *
-     * @return Whether the queued videos were successfully downloaded or not.
-     */
-    private static boolean downloadVideos() {
-        if (videoMap.isEmpty()) {
-            logger.warn(Color.bad("Must populate video map before downloading videos"));
-            return false;
+        /**
+         * Prepares the Channel for downloading.
+         *
+         * @return Whether the Channel was successfully prepared or not.
+         */
+        private boolean prepare() {
+            return Internet.isOnline() &&
+                    checkQuota() &&
+                    initChannel() &&
+                    loadChannelData() &&
+                    produceQueue();
         }
         
-        if (!channel.getState().getQueued().isEmpty()) {
-            logger.info(Color.number(String.valueOf(channel.getState().getQueued().size())) + Color.base(" in Queue..."));
+        /**
+         * Prepares the Channel for downloading in the background, buffering the console log entries produced while it is being prepared.
+         *
+         * @return Whether the Channel was successfully prepared or not.
+         */
+        private boolean prepareInBackground() {
+            LogUtils.bufferConsoleLog(this::log);
+            try {
+                return prepare();
+            } finally {
+                LogUtils.bufferConsoleLog(null);
+            }
         }
         
-        List<String> working = new ArrayList<>(channel.getState().getQueued());
-        for (int i = 0; i < working.size(); i++) {
-            String videoId = working.get(i);
-            Video video = videoMap.get(videoId);
-            
-            if (!Configurator.Config.preventDownload) {
-                logger.info(Color.base("Downloading (") + Color.number(i + 1) + Color.base("/") + Color.number(working.size()) + Color.base("): ") + Color.videoTitle(video));
-            } else {
-                logger.info(Color.bad("Would have downloaded: ") + Color.quoteVideoTitle(video) + Color.bad(" but downloading is disabled"));
-                continue;
+        /**
+         * Waits for the preparation of the Channel, or prepares it now if it was not scheduled in the background.
+         *
+         * @return Whether the Channel was successfully prepared or not.
+         */
+        private boolean awaitPreparation() {
+            final Future<Boolean> preparation;
+            synchronized (this) {
+                preparation = this.preparation;
             }
             
-            DownloadUtils.DownloadResponse response = DownloadUtils.downloadYoutubeVideo(video);
-            switch (response.getStatus()) {
-                case SUCCESS:
-                    channel.getState().getSaved().add(videoId);
-                    channel.getState().getKeyStore().put(video);
-                    
-                    Report.include(video);
-                    if (channel.getConfig().isSaveAsAudio()) {
-                        Stats.totalAudioDownloads.incrementAndGet();
-                        Stats.totalAudioDataDownloaded.addAndGet(video.getOutput().length());
-                    } else {
-                        Stats.totalVideoDownloads.incrementAndGet();
-                        Stats.totalVideoDataDownloaded.addAndGet(video.getOutput().length());
-                    }
-                    break;
-                
-                case ERROR:
-                    channel.getState().getBlocked().add(videoId);
-                case FAILURE:
-                    if (channel.getConfig().isSaveAsAudio()) {
-                        Stats.totalAudioDownloadFailures.incrementAndGet();
-                    } else {
-                        Stats.totalVideoDownloadFailures.incrementAndGet();
-                    }
-                    break;
+            boolean prepared;
+            try {
+                prepared = (preparation == null) ? prepare() : preparation.get();
+            } catch (Exception e) {
+                log(() -> logger.error(Color.bad("Failed to prepare Channel: ") + Color.channelName(channel) + Color.bad(" for processing"), e));
+                prepared = false;
             }
             
-            channel.getState().getQueued().remove(videoId);
-            channel.getState().save();
+            synchronized (logBuffer) {
+                buffered = false;
+                logBuffer.forEach(Runnable::run);
+                logBuffer.clear();
+            }
+            return prepared;
         }
-        return true;
-    }
-    
-    /**
-     * Creates a playlist of the videos from the active Channel.
-     *
-     * @return Whether the playlist was successfully created or not.
-     */
-    private static boolean createPlaylist() {
-        if (videoMap.isEmpty()) {
-            logger.warn(Color.bad("Must populate video map before creating a playlist"));
+        
+        /**
+         * Logs an entry for the Channel, or buffers it if the Channel is being prepared in the background.
+         *
+         * @param entry The log entry.
+         */
+        private void log(Runnable entry) {
+            synchronized (logBuffer) {
+                if (buffered) {
+                    logBuffer.add(entry);
+                } else {
+                    entry.run();
+                }
+            }
+        }
+        
+        /**
+         * Checks whether there is quota available for the Channel, otherwise defers the Channel to the next quota day.
+         *
+         * @return Whether there is quota available for the Channel or not.
+         */
+        private boolean checkQuota() {
+            if (Configurator.Config.preventChannelFetch || ApiUtils.isQuotaAvailable(channel.getState())) {
+                return true;
+            }
+            
+            log(() -> logger.warn(Color.bad("Deferring Channel: ") + Color.channelName(channel) + Color.bad(" until the next quota day")));
             return false;
         }
         
-        if (channel.getConfig().getPlaylistFile() == null) {
+        /**
+         * Initializes the Channel.
+         *
+         * @return Whether the Channel was successfully initialized or not.
+         */
+        private boolean initChannel() {
+            try {
+                videoMap.clear();
+                
+                if (!Configurator.Config.preventChannelFetch) {
+                    channel.getState().cleanupCache();
+                }
+                
+                WebUtils.checkPlaylistId(channel.getConfig());
+                channel.getInfo();
+                
+            } catch (Exception e) {
+                log(() -> logger.error(Color.bad("Failed to initialize Channel: ") + Color.channelName(channel) + Color.bad(" for processing"), e));
+                return false;
+            }
             return true;
         }
         
-        final List<String> existingPlaylist = new ArrayList<>();
-        if (channel.getConfig().getPlaylistFile().exists()) {
+        /**
+         * Loads the data for the Channel.
+         *
+         * @return Whether the Channel data was successfully loaded or not.
+         */
+        private boolean loadChannelData() {
             try {
-                Optional.of(channel.getConfig().getPlaylistFile())
-                        .map(Filesystem::readLines)
-                        .map(existingPlaylist::addAll)
-                        .orElseThrow(() -> new IOException("Error reading: " + PathUtils.path(channel.getConfig().getPlaylistFile())));
+                final Set<String> videoTitles = new HashSet<>();
+                ApiUtils.fetchChannelVideos(channel).stream()
+                        .filter(Objects::nonNull).filter(VideoInfo::isValid)
+                        .map(videoInfo -> new Video(videoInfo, channel))
+                        .filter(video -> videoTitles.add(video.getTitle()))
+                        .forEach(video -> videoMap.put(video.getInfo().getVideoId(), video));
             } catch (Exception e) {
-                logger.error(Color.bad("Failed to load existing playlist: ") + Color.quoteFilePath(channel.getConfig().getPlaylistFile()), e);
+                log(() -> logger.error(Color.bad("Failed to load the data of Channel: ") + Color.channelName(channel), e));
                 return false;
             }
+            return true;
         }
         
-        String playlistPath = PathUtils.localPath(true, channel.getConfig().getPlaylistFile().getParentFile());
-        
-        List<String> playlist = new ArrayList<>();
-        for (Map.Entry<String, Video> video : videoMap.entrySet()) {
-            if (channel.getState().getSaved().contains(video.getKey())) {
-                playlist.add(PathUtils.localPath(video.getValue().getOutput()).replace(playlistPath, ""));
+        /**
+         * Produces the queue of videos to download from the Channel.
+         *
+         * @return Whether the queue was successfully produced or not.
+         */
+        @SuppressWarnings("ResultOfMethodCallIgnored")
+        private boolean produceQueue() {
+            if (videoMap.isEmpty()) {
+                log(() -> logger.warn(Color.bad("Must populate video map before producing the queue")));
+                return false;
+            }
+            
+            synchronized (channel.getState()) {
+                channel.getState().getQueued().clear();
+                if (Configurator.Config.retryPreviousFailures) {
+                    channel.getState().getBlocked().clear();
+                }
+                
+                if (Channels.Config.enableCustomRenameProcesses) {
+                    ChannelProcesses.performSpecialPreConditions(channel, videoMap);
+                }
+                
+                videoMap.values().stream().collect(Collectors.groupingBy(Video::getTitle)).entrySet()
+                        .stream().filter(e -> (e.getValue().size() > 1)).forEach(e ->
+                                log(() -> logger.warn(Color.bad("The title: ") + Color.quoteVideoTitle(e.getValue().get(0)) + Color.bad(" appears ") + Color.number(e.getValue().size()) + Color.bad(" times"))));
+                
+                videoMap.forEach((videoId, video) -> {
+                    channel.getState().getSaved().remove(videoId);
+                    
+                    if (video.getOutput().exists() && FileUtils.getCanonical(video.getOutput()).getAbsolutePath().equals(video.getOutput().getAbsolutePath())) {
+                        channel.getState().getSaved().add(videoId);
+                        channel.getState().getBlocked().remove(videoId);
+                        channel.getState().getKeyStore().put(video);
+                        
+                    } else if (!channel.getState().getBlocked().contains(videoId)) {
+                        File oldOutput = Optional.ofNullable(channel.getState().getKeyStore().get(videoId))
+                                .map(KeyStore.KeyStoreEntry::getLocalPath)
+                                .map(File::new).filter(File::exists)
+                                .map(FileUtils::getCanonical).filter(File::exists)
+                                .orElseGet(() -> FileUtils.findVideoFile(video.getOutput()));
+                        
+                        if ((oldOutput == null) || !oldOutput.exists()) {
+                            channel.getState().getQueued().add(videoId);
+                            
+                        } else {
+                            File newOutput = Optional.ofNullable(video.getOutput()).map(File::getName)
+                                    .map(e -> FileUtils.setFormat(e, FileUtils.getFormat(oldOutput.getName())))
+                                    .map(e -> new File(video.getConfig().getOutputFolder(), e))
+                                    .orElse(oldOutput);
+                            
+                            if (oldOutput.getName().equals(newOutput.getName())) {
+                                video.updateOutput(newOutput);
+                                
+                            } else if (!Configurator.Config.preventRenaming) {
+                                log(() -> logger.info(Color.base("Renaming: ") + Color.quoteVideoFileName(oldOutput) + Color.log(" to: ") + Color.quoteVideoFileName(newOutput)));
+                                
+                                oldOutput.renameTo(newOutput);
+                                FileUtils.invalidateDirectoryIndex(oldOutput.getParentFile());
+                                FileUtils.invalidateDirectoryIndex(newOutput.getParentFile());
+                                video.updateOutput(newOutput);
+                                
+                                if (channel.getConfig().isSaveAsAudio()) {
+                                    Stats.totalAudioRenames.increment();
+                                } else {
+                                    Stats.totalVideoRenames.increment();
+                                }
+                                
+                            } else {
+                                log(() -> logger.info(Color.bad("Would have renamed: ") + Color.quoteVideoFileName(oldOutput) + Color.log(" to: ") + Color.quoteVideoFileName(newOutput) + Color.bad(" but renaming is disabled")));
+                                video.updateOutput(oldOutput);
+                            }
+                            
+                            channel.getState().getSaved().add(videoId);
+                            channel.getState().getKeyStore().put(video);
+                        }
+                    }
+                });
+                
+                if (Channels.Config.enableCustomFilterProcesses) {
+                    ChannelProcesses.performSpecialPostConditions(channel, videoMap);
+                }
+                
+                channel.getState().save();
             }
+            return true;
         }
         
-        if (channel.getConfig().isYoutubeChannel() ^ channel.getConfig().isReversePlaylist()) {
-            Collections.reverse(playlist);
+        /**
+         * Downloads the queued videos from the Channel.
+         *
+         * @return Whether the queued videos were successfully downloaded or not.
+         */
+        private boolean downloadVideos() {
+            if (videoMap.isEmpty()) {
+                logger.warn(Color.bad("Must populate video map before downloading videos"));
+                return false;
+            }
+            
+            if (!channel.getState().getQueued().isEmpty()) {
+                logger.info(Color.number(String.valueOf(channel.getState().getQueued().size())) + Color.base(" in Queue..."));
+            }
+            
+            final List<Video> working = channel.getState().getQueued().stream()
+                    .map(videoMap::get).filter(Objects::nonNull)
+                    .collect(Collectors.toList());
+            
+            if (Configurator.Config.preventDownload) {
+                working.forEach(video ->
+                        logger.info(Color.bad("Would have downloaded: ") + Color.quoteVideoTitle(video) + Color.bad(" but downloading is disabled")));
+                return true;
+            }
+            
+            DownloadUtils.downloadYoutubeVideos(working, channel.getConfig().getMaxConcurrentDownloads(), (video, response) -> {
+                final String videoId = video.getInfo().getVideoId();
+                
+                synchronized (channel.getState()) {
+                    switch (response.getStatus()) {
+                        case SUCCESS:
+                            FileUtils.invalidateDirectoryIndex(video.getOutput().getParentFile());
+                            channel.getState().getSaved().add(videoId);
+                            channel.getState().getKeyStore().put(video);
+                            
+                            Report.include(video);
+                            if (channel.getConfig().isSaveAsAudio()) {
+                                Stats.totalAudioDownloads.increment();
+                                Stats.totalAudioDataDownloaded.add(video.getOutput().length());
+                            } else {
+                                Stats.totalVideoDownloads.increment();
+                                Stats.totalVideoDataDownloaded.add(video.getOutput().length());
+                            }
+                            break;
+                        
+                        case ERROR:
+                            channel.getState().getBlocked().add(videoId);
+                        case FAILURE:
+                            if (channel.getConfig().isSaveAsAudio()) {
+                                Stats.totalAudioDownloadFailures.increment();
+                            } else {
+                                Stats.totalVideoDownloadFailures.increment();
+                            }
+                            break;
+                    }
+                    
+                    channel.getState().getQueued().remove(videoId);
+                    channel.getState().commit();
+                }
+            });
+            
+            synchronized (channel.getState()) {
+                channel.getState().save();
+            }
+            return true;
         }
         
-        if (!channel.getState().getErrorFlag().get() && !playlist.equals(existingPlaylist)) {
-            if (!Configurator.Config.preventPlaylistEdit) {
-                logger.info(Color.base("Updating playlist: ") + Color.quoteFilePath(channel.getConfig().getPlaylistFile()));
+        /**
+         * Creates a playlist of the videos from the Channel.
+         *
+         * @return Whether the playlist was successfully created or not.
+         */
+        private boolean createPlaylist() {
+            if (videoMap.isEmpty()) {
+                logger.warn(Color.bad("Must populate video map before creating a playlist"));
+                return false;
+            }
+            
+            if (channel.getConfig().getPlaylistFile() == null) {
+                return true;
+            }
+            
+            final List<String> existingPlaylist = new ArrayList<>();
+            if (channel.getConfig().getPlaylistFile().exists()) {
                 try {
                     Optional.of(channel.getConfig().getPlaylistFile())
-                            .filter(file -> Filesystem.writeLines(file, playlist))
-                            .orElseThrow(() -> new IOException("Error writing: " + PathUtils.path(channel.getConfig().getPlaylistFile())));
-                } catch (IOException e) {
-                    logger.error(Color.bad("Failed to update playlist: ") + Color.quoteFilePath(channel.getConfig().getPlaylistFile()), e);
+                            .map(Filesystem::readLines)
+                            .map(existingPlaylist::addAll)
+                            .orElseThrow(() -> new IOException("Error reading: " + PathUtils.path(channel.getConfig().getPlaylistFile())));
+                } catch (Exception e) {
+                    logger.error(Color.bad("Failed to load existing playlist: ") + Color.quoteFilePath(channel.getConfig().getPlaylistFile()), e);
                     return false;
                 }
-            } else {
-                logger.info(Color.bad("Would have updated playlist: ") + Color.quoteFilePath(channel.getConfig().getPlaylistFile()) + Color.bad(" but playlist modification is disabled"));
             }
+            
+            String playlistPath = PathUtils.localPath(true, channel.getConfig().getPlaylistFile().getParentFile());
+            
+            List<String> playlist = new ArrayList<>();
+            for (Map.Entry<String, Video> video : videoMap.entrySet()) {
+                if (channel.getState().getSaved().contains(video.getKey())) {
+                    playlist.add(PathUtils.localPath(video.getValue().getOutput()).replace(playlistPath, ""));
+                }
+            }
+            
+            if (channel.getConfig().isYoutubeChannel() ^ channel.getConfig().isReversePlaylist()) {
+                Collections.reverse(playlist);
+            }
+            
+            if (!channel.getState().getErrorFlag().get() && !playlist.equals(existingPlaylist)) {
+                if (!Configurator.Config.preventPlaylistEdit) {
+                    logger.info(Color.base("Updating playlist: ") + Color.quoteFilePath(channel.getConfig().getPlaylistFile()));
+                    try {
+                        Optional.of(channel.getConfig().getPlaylistFile())
+                                .filter(file -> Filesystem.writeLines(file, playlist))
+                                .orElseThrow(() -> new IOException("Error writing: " + PathUtils.path(channel.getConfig().getPlaylistFile())));
+                    } catch (IOException e) {
+                        logger.error(Color.bad("Failed to update playlist: ") + Color.quoteFilePath(channel.getConfig().getPlaylistFile()), e);
+                        return false;
+                    }
+                } else {
+                    logger.info(Color.bad("Would have updated playlist: ") + Color.quoteFilePath(channel.getConfig().getPlaylistFile()) + Color.bad(" but playlist modification is disabled"));
+                }
+            }
+            return true;
         }
-        return true;
-    }
-    
-    /**
-     * Cleans the output directory of the active Channel.
-     *
-     * @return Whether the output directory was successfully cleaned or not.
-     */
-    private static boolean cleanChannel() {
-        if (videoMap.isEmpty()) {
-            logger.warn(Color.bad("Must populate video map before cleaning the channel directory"));
-            return false;
-        }
-        
-        List<String> saved = Channels.getChannels().stream()
-                .filter(e -> e.getConfig().getKey().matches(channel.getConfig().getKey() + "(?:_P\\d+)?"))
-                .flatMap(e -> e.getState().getSaved().stream()
-                        .map(save -> e.getState().getKeyStore().get(save)))
-                .filter(Objects::nonNull)
-                .map(KeyStore.KeyStoreEntry::getLocalPath)
-                .filter(Objects::nonNull)
-                .distinct().collect(Collectors.toList());
         
-        if (!channel.getState().getErrorFlag().get() && channel.getConfig().isKeepClean()) {
+        /**
+         * Cleans the output directory of the Channel.
+         *
+         * @return Whether the output directory was successfully cleaned or not.
+         */
+        private boolean cleanChannel() {
+            if (videoMap.isEmpty()) {
+                logger.warn(Color.bad("Must populate video map before cleaning the channel directory"));
+                return false;
+            }
             
-            List<File> channelFiles = Filesystem.getFiles(channel.getConfig().getOutputFolder());
-            for (File channelFile : channelFiles) {
-                if (channelFile.isFile() && !saved.contains(PathUtils.localPath(channelFile))) {
-                    
-                    if (!Configurator.Config.preventDeletion) {
-                        logger.info(Color.base("Deleting: ") + Color.quoteVideoFileName(channelFile));
-                        try {
-                            Optional.of(channelFile)
-                                    .filter(FileUtils::delete)
-                                    .orElseThrow(() -> new IOException("Error deleting: " + PathUtils.path(channelFile)));
-                        } catch (Exception e) {
-                            logger.error(Color.bad("Failed to delete: ") + Color.quoteVideoFileName(channelFile), e);
+            final Set<String> saved = Channels.getChannels().stream()
+                    .filter(e -> e.getConfig().getKey().matches(channel.getConfig().getKey() + "(?:_P\\d+)?"))
+                    .flatMap(e -> {
+                        synchronized (e.getState()) {
+                            return e.getState().getSaved().stream()
+                                    .map(save -> e.getState().getKeyStore().get(save))
+                                    .filter(Objects::nonNull)
+                                    .map(KeyStore.KeyStoreEntry::getLocalPath)
+                                    .collect(Collectors.toList()).stream();
                         }
-                        
-                        if (!FileUtils.isFormat(channelFile.getName(), FileUtils.DOWNLOAD_FILE_FORMAT)) {
-                            if (channel.getConfig().isSaveAsAudio()) {
-                                Stats.totalAudioDeletions.incrementAndGet();
-                            } else {
-                                Stats.totalVideoDeletions.incrementAndGet();
+                    })
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toCollection(HashSet::new));
+            
+            if (!channel.getState().getErrorFlag().get() && channel.getConfig().isKeepClean()) {
+                final File outputFolder = FileUtils.getCanonical(channel.getConfig().getOutputFolder());
+                if (!outputFolder.isDirectory()) {
+                    return true;
+                }
+                
+                final List<File> unsaved = new ArrayList<>();
+                try {
+                    Files.walkFileTree(outputFolder.toPath(), EnumSet.of(FileVisitOption.FOLLOW_LINKS), 1, new SimpleFileVisitor<>() {
+                        @Override
+                        public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
+                            if (attributes.isRegularFile() && !saved.contains(PathUtils.localPath(file.toString()))) {
+                                unsaved.add(file.toFile());
                             }
+                            return FileVisitResult.CONTINUE;
                         }
                         
+                        @Override
+                        public FileVisitResult visitFileFailed(Path file, IOException e) {
+                            return FileVisitResult.CONTINUE;
+                        }
+                    });
+                } catch (IOException e) {
+                    logger.error(Color.bad("Failed to list the output directory: ") + Color.quoteFilePath(outputFolder), e);
+                    return true;
+                }
+                
+                if (unsaved.isEmpty()) {
+                    return true;
+                }
+                
+                if (!Configurator.Config.preventDeletion) {
+                    final Map<Boolean, List<File>> deleted = unsaved.stream()
+                            .collect(Collectors.partitioningBy(FileUtils::delete));
+                    
+                    logger.info(Color.base("Deleted ") + Color.number(deleted.get(true).size()) + Color.base(" of ") + Color.number(unsaved.size()) + Color.base(" unsaved files"));
+                    deleted.get(true).forEach(channelFile ->
+                            logger.info(Color.base("Deleted: ") + Color.quoteVideoFileName(channelFile)));
+                    deleted.get(false).forEach(channelFile ->
+                            logger.error(Color.bad("Failed to delete: ") + Color.quoteVideoFileName(channelFile)));
+                    
+                    final long deletions = deleted.get(true).stream()
+                            .filter(channelFile -> !FileUtils.isFormat(channelFile.getName(), FileUtils.DOWNLOAD_FILE_FORMAT))
+                            .count();
+                    if (channel.getConfig().isSaveAsAudio()) {
+                        Stats.totalAudioDeletions.add(deletions);
                     } else {
-                        logger.info(Color.bad("Would have deleted: ") + Color.quoteVideoFileName(channelFile) + Color.bad(" but deletion is disabled"));
+                        Stats.totalVideoDeletions.add(deletions);
                     }
+                    
+                } else {
+                    unsaved.forEach(channelFile ->
+                            logger.info(Color.bad("Would have deleted: ") + Color.quoteVideoFileName(channelFile) + Color.bad(" but deletion is disabled")));
                 }
             }
+            return true;
         }
-        return true;
+        
     }
     
 }
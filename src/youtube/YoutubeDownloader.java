@@ -97,6 +97,7 @@ public class YoutubeDownloader {
         
         try (Scanner in = new Scanner(System.in)) {
             do {
+                WebUtils.prefetchVideos(download);
                 download.forEach(url -> {
                     download(url);
                     logger.trace(LogUtils.NEWLINE);
@@ -456,6 +456,11 @@ public class Channels {
          */
         public static final boolean DEFAULT_ENABLE_CUSTOM_FILTER_PROCESSES = true;
         
+        /**
+         * The default value of the number of upcoming Channels to prepare while the videos of the current Channel are downloading.
+         */
+        public static final Long DEFAULT_PREFETCH_CHANNELS = 1L;
+        
         
         //Static Fields
         
@@ -509,6 +514,11 @@ public class Channels {
          */
         public static boolean enableCustomFilterProcesses = DEFAULT_ENABLE_CUSTOM_FILTER_PROCESSES;
         
+        /**
+         * The number of upcoming Channels to prepare while the videos of the current Channel are downloading, or 0 to process Channels one at a time.
+         */
+        public static Long prefetchChannels = DEFAULT_PREFETCH_CHANNELS;
+        
         
         //Static Methods
         
@@ -549,6 +559,11 @@ public class Channels {
                             "process.filter.enableCustomFilterProcesses",
                             "filter.enableCustomFilterProcesses"),
                     DEFAULT_ENABLE_CUSTOM_FILTER_PROCESSES);
+            
+            prefetchChannels = Configurator.getSetting(List.of(
+                            "prefetchChannels",
+                            "process.prefetchChannels"),
+                    DEFAULT_PREFETCH_CHANNELS);
         }
         
     }
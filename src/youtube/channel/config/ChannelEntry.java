@@ -29,6 +29,7 @@ import youtube.config.Color;
 import youtube.config.SponsorBlocker;
 import youtube.config.base.ConfigData;
 import youtube.state.KeyStore;
+import youtube.util.DownloadUtils;
 import youtube.util.FileUtils;
 import youtube.util.LogUtils;
 import youtube.util.PathUtils;
@@ -89,6 +90,11 @@ public abstract class ChannelEntry extends ConfigData {
      */
     public static final boolean DEFAULT_KEEP_CLEAN = false;
     
+    /**
+     * The default priority of the Channel Entry.
+     */
+    public static final int DEFAULT_PRIORITY = 0;
+    
     
     //Fields
     
@@ -167,6 +173,16 @@ public abstract class ChannelEntry extends ConfigData {
      */
     public Boolean keepClean;
     
+    /**
+     * The maximum number of videos from the Channel Entry that may be downloaded concurrently.
+     */
+    public Integer maxConcurrentDownloads;
+    
+    /**
+     * The priority of the Channel Entry when processing Channels and spending the API quota.
+     */
+    public Integer priority;
+    
     /**
      * The SponsorBlock configuration for the Channel Entry.
      */
@@ -213,6 +229,8 @@ public abstract class ChannelEntry extends ConfigData {
         this.savePlaylist = parseData("savePlaylist");
         this.reversePlaylist = parseData("reversePlaylist");
         this.keepClean = parseData("keepClean");
+        this.maxConcurrentDownloads = parseInteger("maxConcurrentDownloads").orElse(null);
+        this.priority = parseInteger("priority").orElse(null);
         
         this.ignoreGlobalLocations = parseData("ignoreGlobalLocations");
         this.locationPrefix = !isIgnoreGlobalLocations() ? PathUtils.path(true, (isSaveAsAudio() ? FileUtils.Config.musicDir : FileUtils.Config.videoDir)) : null;
@@ -362,6 +380,8 @@ public abstract class ChannelEntry extends ConfigData {
         fields.put("reversePlaylist", reversePlaylist);
         fields.put("ignoreGlobalLocations", ignoreGlobalLocations);
         fields.put("keepClean", keepClean);
+        fields.put("maxConcurrentDownloads", maxConcurrentDownloads);
+        fields.put("priority", priority);
         return fields;
     }
     
@@ -384,6 +404,8 @@ public abstract class ChannelEntry extends ConfigData {
         fields.put("reversePlaylist", isReversePlaylist());
         fields.put("ignoreGlobalLocations", isIgnoreGlobalLocations());
         fields.put("keepClean", isKeepClean());
+        fields.put("maxConcurrentDownloads", getMaxConcurrentDownloads());
+        fields.put("priority", getPriority());
         return fields;
     }
     
@@ -606,6 +628,26 @@ public abstract class ChannelEntry extends ConfigData {
                 Optional.ofNullable(parent).map(ChannelEntry::isKeepClean).orElse(DEFAULT_KEEP_CLEAN));
     }
     
+    /**
+     * Returns the maximum number of videos from the Channel Entry that may be downloaded concurrently.
+     *
+     * @return The maximum number of videos from the Channel Entry that may be downloaded concurrently.
+     */
+    public int getMaxConcurrentDownloads() {
+        return Optional.ofNullable(maxConcurrentDownloads).orElseGet(() ->
+                Optional.ofNullable(parent).map(ChannelEntry::getMaxConcurrentDownloads).orElseGet(DownloadUtils::getMaxConcurrentDownloads));
+    }
+    
+    /**
+     * Returns the priority of the Channel Entry when processing Channels and spending the API quota.
+     *
+     * @return The priority of the Channel Entry.
+     */
+    public int getPriority() {
+        return Optional.ofNullable(priority).orElseGet(() ->
+                Optional.ofNullable(parent).map(ChannelEntry::getPriority).orElse(DEFAULT_PRIORITY));
+    }
+    
     /**
      * Returns the SponsorBlock configuration for the Channel Entry.
      *
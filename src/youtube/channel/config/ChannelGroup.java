@@ -45,7 +45,7 @@ public class ChannelGroup extends ChannelEntry {
     /**
      * A list of all fields in the configuration of a Channel Group.
      */
-    public static final List<String> ALL_FIELDS = List.of("key", "active", "name", "group", "url", "playlistId", "outputFolder", "saveAsAudio", "savePlaylist", "reversePlaylist", "ignoreGlobalLocations", "keepClean", "channels");
+    public static final List<String> ALL_FIELDS = List.of("key", "active", "name", "group", "url", "playlistId", "outputFolder", "saveAsAudio", "savePlaylist", "reversePlaylist", "ignoreGlobalLocations", "keepClean", "maxConcurrentDownloads", "priority", "channels");
     
     
     //Fields
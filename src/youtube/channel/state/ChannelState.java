@@ -9,9 +9,17 @@ package youtube.channel.state;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -22,7 +30,6 @@ import java.util.stream.Stream;
 
 import commons.access.Filesystem;
 import commons.lambda.stream.collector.MapCollectors;
-import commons.object.collection.ListUtility;
 import commons.object.string.StringUtility;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -30,6 +37,7 @@ import youtube.channel.Channels;
 import youtube.channel.config.ChannelConfig;
 import youtube.config.Color;
 import youtube.state.KeyStore;
+import youtube.util.ApiUtils;
 import youtube.util.FileUtils;
 import youtube.util.PathUtils;
 
@@ -63,6 +71,26 @@ public class ChannelState {
      */
     private static final String CALL_LOG_FILE_NAME = "callLog";
     
+    /**
+     * The base file name of the data snapshot file in a Channel cache.
+     */
+    private static final String SNAPSHOT_FILE_NAME = "snapshot";
+    
+    /**
+     * The base file name of the partial data file in a Channel cache.
+     */
+    private static final String PARTIAL_FILE_NAME = "partial";
+    
+    /**
+     * The base file name of the fetch checkpoint file in a Channel cache.
+     */
+    private static final String CHECKPOINT_FILE_NAME = "checkpoint";
+    
+    /**
+     * The base file name of the sync index file in a Channel cache.
+     */
+    private static final String SYNC_FILE_NAME = "sync";
+    
     
     //Fields
     
@@ -71,6 +99,11 @@ public class ChannelState {
      */
     private final String channelName;
     
+    /**
+     * The priority of the Channel that the Channel State is associated with.
+     */
+    private final int priority;
+    
     /**
      * The internal directory used to cache the Channel State.
      */
@@ -101,6 +134,7 @@ public class ChannelState {
      */
     public ChannelState(ChannelConfig channelConfig) {
         this.channelName = channelConfig.getName();
+        this.priority = channelConfig.getPriority();
         
         this.cache = Channels.fetchChannelCache(channelConfig);
         this.stateLists = StateList.initializeStateLists(this);
@@ -146,6 +180,20 @@ public class ChannelState {
         }
     }
     
+    /**
+     * Commits the pending changes to the Channel State to the journals of its State Lists.
+     *
+     * @throws RuntimeException When there is an error committing the Channel State.
+     */
+    public void commit() {
+        try {
+            stateLists.values().forEach(StateList::commit);
+        } catch (Exception e) {
+            logger.error(Color.bad("Failed to commit the state of Channel: ") + Color.channelName(this), e);
+            throw new RuntimeException(e);
+        }
+    }
+    
     /**
      * Returns the list of files in the Channel State cache.
      *
@@ -196,7 +244,7 @@ public class ChannelState {
      * @return The data file.
      */
     public File getDataFile(String type) {
-        return getCacheFile((DATA_FILE_NAME + getDataFileTypeSuffix(type)), FileUtils.DATA_FILE_FORMAT);
+        return getCacheFile((DATA_FILE_NAME + getDataFileTypeSuffix(type)), FileUtils.PAGE_FILE_FORMAT);
     }
     
     /**
@@ -208,6 +256,46 @@ public class ChannelState {
         return getDataFile(null);
     }
     
+    /**
+     * Returns a data snapshot file in the Channel State cache.
+     *
+     * @param type The type of the data snapshot file.
+     * @return The data snapshot file.
+     */
+    public File getSnapshotFile(String type) {
+        return getCacheFile((SNAPSHOT_FILE_NAME + getDataFileTypeSuffix(type)), FileUtils.PAGE_FILE_FORMAT);
+    }
+    
+    /**
+     * Returns a partial data file in the Channel State cache, which holds the pages of data fetched so far.
+     *
+     * @param type The type of the partial data file.
+     * @return The partial data file.
+     */
+    public File getPartialDataFile(String type) {
+        return getCacheFile((PARTIAL_FILE_NAME + getDataFileTypeSuffix(type)), FileUtils.PAGE_FILE_FORMAT);
+    }
+    
+    /**
+     * Returns a fetch checkpoint file in the Channel State cache, which records the progress of fetching a partial data file.
+     *
+     * @param type The type of the fetch checkpoint file.
+     * @return The fetch checkpoint file.
+     */
+    public File getCheckpointFile(String type) {
+        return getCacheFile((CHECKPOINT_FILE_NAME + getDataFileTypeSuffix(type)), FileUtils.LIST_FILE_FORMAT);
+    }
+    
+    /**
+     * Returns a sync index file in the Channel State cache.
+     *
+     * @param type The type of the sync index file.
+     * @return The sync index file.
+     */
+    public File getSyncFile(String type) {
+        return getCacheFile((SYNC_FILE_NAME + getDataFileTypeSuffix(type)), FileUtils.LIST_FILE_FORMAT);
+    }
+    
     /**
      * Returns the call log file in the Channel State cache.
      *
@@ -280,9 +368,15 @@ public class ChannelState {
     }
     
     /**
-     * Clears the data and log files in the Channel State cache.
+     * Clears the data and log files in the Channel State cache.<br>
+     * When incremental syncing is enabled, the data files are kept as snapshots for the next fetch instead of being deleted.
      */
     public void cleanupCache() {
+        if (ApiUtils.Config.incrementalSync) {
+            getDataFiles().forEach(dataFile -> Filesystem.moveFile(dataFile,
+                    getCacheFile(SNAPSHOT_FILE_NAME + dataFile.getName().substring((getChannelName() + '-' + DATA_FILE_NAME).length())), true));
+        }
+        
         Stream.concat(getDataFiles().stream(), Stream.of(getCallLogFile()))
                 .forEach(Filesystem::deleteFile);
     }
@@ -308,6 +402,13 @@ public class ChannelState {
                         .filter(cacheFile -> cacheFile.getName().startsWith(legacyName))
                         .filter(cacheFile -> FileUtils.isFormat(cacheFile.getName(), FileUtils.LIST_FILE_FORMAT)))
                 .forEach(FileUtils::delete);
+        
+        Stream.of(DATA_FILE_NAME, SNAPSHOT_FILE_NAME)
+                .map(legacyName -> (getChannelName() + '-' + legacyName))
+                .flatMap(legacyName -> getCacheFiles().stream()
+                        .filter(cacheFile -> cacheFile.getName().startsWith(legacyName))
+                        .filter(cacheFile -> FileUtils.isFormat(cacheFile.getName(), FileUtils.DATA_FILE_FORMAT)))
+                .forEach(FileUtils::delete);
     }
     
     /**
@@ -332,6 +433,15 @@ public class ChannelState {
         return channelName;
     }
     
+    /**
+     * Returns the priority of the Channel that the Channel State is associated with.
+     *
+     * @return The priority of the Channel.
+     */
+    public int getPriority() {
+        return priority;
+    }
+    
     /**
      * Returns the internal directory used to cache the Channel State.
      *
@@ -372,9 +482,34 @@ public class ChannelState {
     //Inner Classes
     
     /**
-     * Defines a State List for a Channel State.
+     * Defines a State List for a Channel State.<br>
+     * The ids are held in insertion order, with constant time lookup and removal.<br>
+     * Changes are recorded in an append-only journal which is replayed on load and compacted into the State List file on save.
      */
-    public static class StateList extends ArrayList<String> {
+    public static class StateList extends LinkedHashSet<String> {
+        
+        //Constants
+        
+        /**
+         * The file format of a State List journal.
+         */
+        public static final String JOURNAL_FILE_FORMAT = "journal";
+        
+        /**
+         * The journal operation for adding an id.
+         */
+        private static final char JOURNAL_ADD = '+';
+        
+        /**
+         * The journal operation for removing an id.
+         */
+        private static final char JOURNAL_REMOVE = '-';
+        
+        /**
+         * The journal operation for clearing the State List.
+         */
+        private static final char JOURNAL_CLEAR = '*';
+        
         
         //Enums
         
@@ -402,6 +537,11 @@ public class ChannelState {
              */
             public final String fileName;
             
+            /**
+             * The journal file name of the Channel State List Type.
+             */
+            public final String journalFileName;
+            
             
             //Constructors
             
@@ -411,6 +551,7 @@ public class ChannelState {
             Type() {
                 this.name = name().toLowerCase();
                 this.fileName = this.name + '.' + FileUtils.LIST_FILE_FORMAT;
+                this.journalFileName = this.name + '.' + JOURNAL_FILE_FORMAT;
             }
             
             
@@ -434,6 +575,15 @@ public class ChannelState {
                 return fileName;
             }
             
+            /**
+             * Returns the journal file name of the Channel State List Type.
+             *
+             * @return The journal file name of the Channel State List Type.
+             */
+            public String getJournalFileName() {
+                return journalFileName;
+            }
+            
         }
         
         
@@ -449,6 +599,21 @@ public class ChannelState {
          */
         public final File file;
         
+        /**
+         * The journal file recording the changes to the State List since it was last saved.
+         */
+        public final File journalFile;
+        
+        /**
+         * The list of journal entries which have not yet been committed.
+         */
+        private final List<String> pending;
+        
+        /**
+         * A flag indicating whether changes to the State List are being recorded in the journal or not.
+         */
+        private boolean journaling;
+        
         
         //Constructors
         
@@ -463,17 +628,96 @@ public class ChannelState {
             
             this.type = type;
             this.file = channelState.getCacheFile(type.getFileName());
+            this.journalFile = channelState.getCacheFile(type.getJournalFileName());
+            
+            this.pending = new ArrayList<>();
+            this.journaling = false;
         }
         
         
         //Methods
         
         /**
-         * Loads the data of the State List.
+         * Adds an id to the State List.
+         *
+         * @param id The id.
+         * @return Whether the State List was modified or not.
+         */
+        @Override
+        public boolean add(String id) {
+            return super.add(id) && record(JOURNAL_ADD, id);
+        }
+        
+        /**
+         * Removes an id from the State List.
+         *
+         * @param id The id.
+         * @return Whether the State List was modified or not.
+         */
+        @Override
+        public boolean remove(Object id) {
+            return super.remove(id) && record(JOURNAL_REMOVE, (String) id);
+        }
+        
+        /**
+         * Clears the State List.
+         */
+        @Override
+        public void clear() {
+            super.clear();
+            record(JOURNAL_CLEAR, "");
+        }
+        
+        /**
+         * Returns an iterator over the State List which records removals in the journal.
+         *
+         * @return An iterator over the State List.
+         */
+        @Override
+        public Iterator<String> iterator() {
+            final Iterator<String> iterator = super.iterator();
+            return new Iterator<>() {
+                private String current;
+                
+                @Override
+                public boolean hasNext() {
+                    return iterator.hasNext();
+                }
+                
+                @Override
+                public String next() {
+                    return (current = iterator.next());
+                }
+                
+                @Override
+                public void remove() {
+                    iterator.remove();
+                    record(JOURNAL_REMOVE, current);
+                }
+            };
+        }
+        
+        /**
+         * Records a change to the State List as a pending journal entry.
+         *
+         * @param operation The journal operation.
+         * @param id        The id.
+         * @return Always true.
+         */
+        private boolean record(char operation, String id) {
+            if (journaling) {
+                pending.add(operation + id);
+            }
+            return true;
+        }
+        
+        /**
+         * Loads the data of the State List, replaying any changes recorded in the journal.
          *
          * @throws RuntimeException When there is an error loading the State List.
          */
         private void load() {
+            journaling = false;
             this.clear();
             
             Optional.of(getFile())
@@ -481,19 +725,98 @@ public class ChannelState {
                     .map(Filesystem::readLines)
                     .map(this::addAll)
                     .orElseThrow(() -> new RuntimeException(new IOException("Error reading: " + PathUtils.path(getFile()))));
+            
+            if (getJournalFile().exists()) {
+                Optional.of(getJournalFile())
+                        .map(Filesystem::readFileToString)
+                        .map(journal -> journal.substring(0, (journal.lastIndexOf('\n') + 1)))
+                        .map(StringUtility::splitLines)
+                        .orElseThrow(() -> new RuntimeException(new IOException("Error reading: " + PathUtils.path(getJournalFile()))))
+                        .stream().filter(entry -> !entry.isEmpty())
+                        .forEachOrdered(this::replay);
+                save();
+            }
+            journaling = true;
+        }
+        
+        /**
+         * Replays a journal entry on the State List.
+         *
+         * @param entry The journal entry.
+         */
+        private void replay(String entry) {
+            final String id = entry.substring(1);
+            switch (entry.charAt(0)) {
+                case JOURNAL_ADD:
+                    this.add(id);
+                    break;
+                case JOURNAL_REMOVE:
+                    this.remove(id);
+                    break;
+                case JOURNAL_CLEAR:
+                    this.clear();
+                    break;
+            }
+        }
+        
+        /**
+         * Appends the pending journal entries of the State List to its journal and forces them to disk.
+         *
+         * @throws RuntimeException When there is an error writing the journal.
+         */
+        private void commit() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            
+            final ByteBuffer entries = ByteBuffer.wrap(pending.stream()
+                    .map(entry -> entry + '\n')
+                    .collect(Collectors.joining()).getBytes(StandardCharsets.UTF_8));
+            try (FileChannel journal = FileChannel.open(getJournalFile().toPath(),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                while (entries.hasRemaining()) {
+                    journal.write(entries);
+                }
+                journal.force(false);
+            } catch (IOException e) {
+                throw new RuntimeException(new IOException("Error writing: " + PathUtils.path(getJournalFile()), e));
+            }
+            pending.clear();
         }
         
         /**
-         * Saves the data of the State List.
+         * Saves the data of the State List, compacting its journal.<br>
+         * The data is written to a temporary file and forced to disk before it replaces the data file, so the data file is never left partially written;
+         * the journal is only deleted once the data file has been replaced.
          *
          * @throws RuntimeException When there is an error saving the State List.
          */
         private void save() {
             this.clean();
             
-            Optional.of(getFile())
-                    .filter(file -> Filesystem.writeLines(file, this))
-                    .orElseThrow(() -> new RuntimeException(new IOException("Error writing: " + PathUtils.path(getFile()))));
+            final File tmpFile = new File(getFile().getParentFile(), (getFile().getName() + ".tmp"));
+            final ByteBuffer data = ByteBuffer.wrap(this.stream()
+                    .map(entry -> entry + System.lineSeparator())
+                    .collect(Collectors.joining()).getBytes(StandardCharsets.UTF_8));
+            try {
+                Files.createDirectories(tmpFile.getParentFile().toPath());
+                try (FileChannel snapshot = FileChannel.open(tmpFile.toPath(),
+                        StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                    while (data.hasRemaining()) {
+                        snapshot.write(data);
+                    }
+                    snapshot.force(true);
+                }
+                Files.move(tmpFile.toPath(), getFile().toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                Filesystem.deleteFile(tmpFile);
+                throw new RuntimeException(new IOException("Error writing: " + PathUtils.path(getFile()), e));
+            }
+            
+            pending.clear();
+            Optional.of(getJournalFile())
+                    .filter(journalFile -> !journalFile.exists() || Filesystem.deleteFile(journalFile))
+                    .orElseThrow(() -> new RuntimeException(new IOException("Error deleting: " + PathUtils.path(getJournalFile()))));
         }
         
         /**
@@ -501,7 +824,6 @@ public class ChannelState {
          */
         private void clean() {
             this.removeIf(StringUtility::isNullOrBlank);
-            ListUtility.removeDuplicates(this);
         }
         
         
@@ -525,6 +847,15 @@ public class ChannelState {
             return file;
         }
         
+        /**
+         * Returns the journal file recording the changes to the State List since it was last saved.
+         *
+         * @return The journal file recording the changes to the State List since it was last saved.
+         */
+        public File getJournalFile() {
+            return journalFile;
+        }
+        
         
         //Static Methods
         
@@ -20,6 +20,7 @@ import org.slf4j.LoggerFactory;
 import youtube.channel.config.ChannelConfig;
 import youtube.channel.config.ChannelEntry;
 import youtube.channel.config.ChannelGroup;
+import youtube.util.DownloadUtils;
 
 /**
  * Handles the formatting of Channel json strings.
@@ -45,7 +46,9 @@ public final class ChannelJsonFormatter {
             "savePlaylist", ChannelEntry.DEFAULT_SAVE_PLAYLIST,
             "reversePlaylist", ChannelEntry.DEFAULT_REVERSE_PLAYLIST,
             "ignoreGlobalLocations", ChannelEntry.DEFAULT_IGNORE_GLOBAL_LOCATIONS,
-            "keepClean", ChannelEntry.DEFAULT_KEEP_CLEAN);
+            "keepClean", ChannelEntry.DEFAULT_KEEP_CLEAN,
+            "maxConcurrentDownloads", DownloadUtils.Config.DEFAULT_MAX_CONCURRENT_DOWNLOADS.intValue(),
+            "priority", ChannelEntry.DEFAULT_PRIORITY);
     
     /**
      * The number of spaces in an indent in a json string.
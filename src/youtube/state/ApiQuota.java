@@ -15,12 +15,15 @@ import java.time.LocalDate;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.Collection;
-import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
@@ -190,7 +193,7 @@ public class ApiQuota {
     /**
      * The map containing the API Key Quota data.
      */
-    private static final Map<String, KeyQuota> quota = new LinkedHashMap<>();
+    private static final Map<String, KeyQuota> quota = new ConcurrentHashMap<>();
     
     /**
      * The default API key hash provided during initialization.
@@ -202,6 +205,16 @@ public class ApiQuota {
      */
     private static final AtomicBoolean loaded = new AtomicBoolean(false);
     
+    /**
+     * A flag indicating whether the API Quota has changed since it was last written or not.
+     */
+    private static final AtomicBoolean dirty = new AtomicBoolean(false);
+    
+    /**
+     * The lock held by the thread writing the API Quota file.
+     */
+    private static final ReentrantLock writeLock = new ReentrantLock();
+    
     
     //Static Methods
     
@@ -316,13 +329,31 @@ public class ApiQuota {
         writeQuota(API_QUOTA_FILE);
     }
     
+    /**
+     * Writes a snapshot of the API Quota to the API Quota file after it has changed.<br>
+     * Only one thread writes the file at a time; changes made while it is being written are included in a following write by that thread,
+     * so other threads never wait on the file.
+     */
+    private static void flushQuota() {
+        dirty.set(true);
+        while (dirty.get() && writeLock.tryLock()) {
+            try {
+                while (dirty.getAndSet(false)) {
+                    writeQuota();
+                }
+            } finally {
+                writeLock.unlock();
+            }
+        }
+    }
+    
     /**
      * Fetches an API Key Quota.
      *
      * @param keyHash The hash of the API key.
      * @return The API Key Quota.
      */
-    public static synchronized KeyQuota getKeyQuota(String keyHash) {
+    public static KeyQuota getKeyQuota(String keyHash) {
         return quota.computeIfAbsent(keyHash, KeyQuota::new);
     }
     
@@ -332,7 +363,7 @@ public class ApiQuota {
      * @param keyHash The hash of the API key.
      * @return The quota usage.
      */
-    public static synchronized int getQuotaUsage(String keyHash) {
+    public static int getQuotaUsage(String keyHash) {
         return getKeyQuota(keyHash).getUsage();
     }
     
@@ -341,7 +372,7 @@ public class ApiQuota {
      *
      * @return The quota usage.
      */
-    public static synchronized int getQuotaUsage() {
+    public static int getQuotaUsage() {
         return getQuotaUsage(defaultKeyHash.get());
     }
     
@@ -351,7 +382,7 @@ public class ApiQuota {
      * @param keyHash The hash of the API key.
      * @return The quota remaining.
      */
-    public static synchronized int getQuotaRemaining(String keyHash) {
+    public static int getQuotaRemaining(String keyHash) {
         return (DAILY_QUOTA - getQuotaUsage(keyHash));
     }
     
@@ -360,19 +391,86 @@ public class ApiQuota {
      *
      * @return The quota remaining.
      */
-    public static synchronized int getQuotaRemaining() {
+    public static int getQuotaRemaining() {
         return getQuotaRemaining(defaultKeyHash.get());
     }
     
+    /**
+     * Returns the remaining usage of the quota that has not been reserved by an API call in progress.
+     *
+     * @param keyHash The hash of the API key.
+     * @return The quota available.
+     */
+    public static int getQuotaAvailable(String keyHash) {
+        return getKeyQuota(keyHash).getAvailable();
+    }
+    
+    /**
+     * Returns the remaining usage of the quota that has not been reserved by an API call in progress.
+     *
+     * @return The quota available.
+     */
+    public static int getQuotaAvailable() {
+        return getQuotaAvailable(defaultKeyHash.get());
+    }
+    
+    /**
+     * Reserves quota for an API call before it is made.<br>
+     * The reservation only succeeds if the quota available after it would not fall below the floor,
+     * so that a portion of the quota can be held back for more important API calls.
+     *
+     * @param keyHash The hash of the API key to be used.
+     * @param cost    The cost of the API call.
+     * @param floor   The amount of quota that must remain available after the reservation.
+     * @return Whether the quota was reserved or not.
+     */
+    public static boolean reserveQuota(String keyHash, int cost, int floor) {
+        return getKeyQuota(keyHash).reserve(cost, floor);
+    }
+    
+    /**
+     * Releases quota that was reserved for an API call, once the API call has been registered or abandoned.
+     *
+     * @param keyHash The hash of the API key used.
+     * @param cost    The cost of the API call.
+     */
+    public static void releaseQuota(String keyHash, int cost) {
+        getKeyQuota(keyHash).release(cost);
+    }
+    
+    /**
+     * Reserves quota for an API call before it is made.
+     *
+     * @param keyHash The hash of the API key to be used.
+     * @param cost    The Quota Cost of the API call.
+     * @param floor   The amount of quota that must remain available after the reservation.
+     * @return Whether the quota was reserved or not.
+     * @see #reserveQuota(String, int, int)
+     */
+    public static boolean reserveQuota(String keyHash, QuotaCost cost, int floor) {
+        return reserveQuota(keyHash, cost.getValue(), floor);
+    }
+    
+    /**
+     * Releases quota that was reserved for an API call.
+     *
+     * @param keyHash The hash of the API key used.
+     * @param cost    The Quota Cost of the API call.
+     * @see #releaseQuota(String, int)
+     */
+    public static void releaseQuota(String keyHash, QuotaCost cost) {
+        releaseQuota(keyHash, cost.getValue());
+    }
+    
     /**
      * Registers an API call against the quota.
      *
      * @param keyHash The hash of the API key used.
      * @param cost    The cost of the API call.
      */
-    public static synchronized void registerApiCall(String keyHash, int cost) {
+    public static void registerApiCall(String keyHash, int cost) {
         getKeyQuota(keyHash).update(cost);
-        writeQuota();
+        flushQuota();
     }
     
     /**
@@ -380,7 +478,7 @@ public class ApiQuota {
      *
      * @param cost The cost of the API call.
      */
-    public static synchronized void registerApiCall(int cost) {
+    public static void registerApiCall(int cost) {
         registerApiCall(defaultKeyHash.get(), cost);
     }
     
@@ -390,7 +488,7 @@ public class ApiQuota {
      * @param keyHash The hash of the API key used.
      * @param cost    The Quota Cost of the API call.
      */
-    public static synchronized void registerApiCall(String keyHash, QuotaCost cost) {
+    public static void registerApiCall(String keyHash, QuotaCost cost) {
         registerApiCall(keyHash, cost.getValue());
     }
     
@@ -399,7 +497,7 @@ public class ApiQuota {
      *
      * @param cost The Quota Cost of the API call.
      */
-    public static synchronized void registerApiCall(QuotaCost cost) {
+    public static void registerApiCall(QuotaCost cost) {
         registerApiCall(defaultKeyHash.get(), cost);
     }
     
@@ -442,12 +540,17 @@ public class ApiQuota {
         /**
          * The quota usage.
          */
-        public Integer usage;
+        private final LongAdder usage = new LongAdder();
+        
+        /**
+         * The quota reserved by API calls in progress.
+         */
+        private final AtomicInteger reserved = new AtomicInteger(0);
         
         /**
          * The quota date.
          */
-        public LocalDate date;
+        private volatile LocalDate date;
         
         
         //Constructors
@@ -461,7 +564,7 @@ public class ApiQuota {
          */
         private KeyQuota(String keyHash, Integer usage, LocalDate date) {
             this.keyHash = keyHash;
-            this.usage = usage;
+            this.usage.add(usage);
             this.date = date;
         }
         
@@ -525,13 +628,53 @@ public class ApiQuota {
          * @return The current API Key Quota usage.
          */
         public int update(int cost) {
+            rollover();
+            usage.add(cost);
+            return getUsage();
+        }
+        
+        /**
+         * Reserves quota for an API call, without blocking other API calls.
+         *
+         * @param cost  The cost of the API call.
+         * @param floor The amount of quota that must remain available after the reservation.
+         * @return Whether the quota was reserved or not.
+         */
+        public boolean reserve(int cost, int floor) {
+            rollover();
+            while (true) {
+                final int current = reserved.get();
+                if ((DAILY_QUOTA - getUsage() - current - cost) < floor) {
+                    return false;
+                }
+                if (reserved.compareAndSet(current, (current + cost))) {
+                    return true;
+                }
+            }
+        }
+        
+        /**
+         * Releases quota that was reserved for an API call.
+         *
+         * @param cost The cost of the API call.
+         */
+        public void release(int cost) {
+            reserved.addAndGet(-cost);
+        }
+        
+        /**
+         * Resets the quota usage when the quota date has changed.
+         */
+        private void rollover() {
             final LocalDate apiDate = getApiDate();
-            if (!apiDate.isEqual(getDate())) {
-                date = apiDate;
-                usage = 0;
+            if (!apiDate.isEqual(date)) {
+                synchronized (this) {
+                    if (!apiDate.isEqual(date)) {
+                        usage.reset();
+                        date = apiDate;
+                    }
+                }
             }
-            
-            return (usage += cost);
         }
         
         
@@ -552,7 +695,17 @@ public class ApiQuota {
          * @return The quota usage.
          */
         public Integer getUsage() {
-            return usage;
+            return usage.intValue();
+        }
+        
+        /**
+         * Returns the quota available, excluding the quota reserved by API calls in progress.
+         *
+         * @return The quota available.
+         */
+        public int getAvailable() {
+            rollover();
+            return (DAILY_QUOTA - getUsage() - reserved.get());
         }
         
         /**
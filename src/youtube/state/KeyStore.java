@@ -7,14 +7,30 @@
 
 package youtube.state;
 
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.text.ParseException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -27,6 +43,7 @@ import org.slf4j.LoggerFactory;
 import youtube.channel.config.ChannelConfig;
 import youtube.channel.state.ChannelState;
 import youtube.config.Color;
+import youtube.config.Configurator;
 import youtube.entity.Channel;
 import youtube.entity.Video;
 import youtube.util.FileUtils;
@@ -58,11 +75,21 @@ public class KeyStore {
      */
     public static final File KEY_STORE_BACKUP = new File(KEY_STORE_FILE.getParentFile(), (KEY_STORE_FILE.getName().replace(".", "-bak.")));
     
+    /**
+     * The file containing the Key Store data in the binary format.
+     */
+    public static final File KEY_STORE_BINARY_FILE = new File(Project.DATA_DIR, FileUtils.setFormat("keyStore", BinaryKeyStore.FILE_FORMAT));
+    
     /**
      * The separator used in a Key Store Entry.
      */
     public static final String SEPARATOR = "|";
     
+    /**
+     * The pattern used to split a line of the Key Store file into the parts of a Key Store Entry.
+     */
+    private static final Pattern SEPARATOR_PATTERN = Pattern.compile(Pattern.quote(SEPARATOR) + '+');
+    
     /**
      * A flag indicating whether the program should exit if the Key Store file can not be read.
      */
@@ -109,6 +136,8 @@ public class KeyStore {
             logger.trace(LogUtils.NEWLINE);
             logger.debug(Color.log("Initializing Key Store..."));
             
+            Config.init();
+            
             loadKeyStore();
             
             return true;
@@ -129,14 +158,34 @@ public class KeyStore {
         
         logger.debug(Color.log("Loading Key Store..."));
         
-        Optional.of(KEY_STORE_FILE)
+        if (Config.binaryKeyStore) {
+            Optional.of(KEY_STORE_BINARY_FILE)
+                    .filter(file -> file.exists() ?
+                                    BinaryKeyStore.read(file) :
+                                    ((!KEY_STORE_FILE.exists() || loadTextKeyStore()) && BinaryKeyStore.compact(file)))
+                    .orElseThrow(() -> {
+                        logger.error(Color.bad("Could not load or create Key Store file: ") + Color.quoteFilePath(KEY_STORE_BINARY_FILE));
+                        return new RuntimeException(new IOException("Error reading: " + PathUtils.path(KEY_STORE_BINARY_FILE)));
+                    });
+            keyStore.trackChanges();
+            
+        } else if (!loadTextKeyStore()) {
+            logger.error(Color.bad("Could not load or create Key Store file: ") + Color.quoteFilePath(KEY_STORE_FILE));
+            throw new RuntimeException(new IOException("Error reading: " + PathUtils.path(KEY_STORE_FILE)));
+        }
+    }
+    
+    /**
+     * Loads the Key Store from the text Key Store file.
+     *
+     * @return Whether the Key Store was successfully loaded from the text Key Store file.
+     */
+    private static boolean loadTextKeyStore() {
+        return Optional.of(KEY_STORE_FILE)
                 .filter(file -> (file.exists() || Filesystem.createFile(file)))
                 .filter(file -> (!Filesystem.isEmpty(file) || restoreFromBackup()))
                 .filter(KeyStore::readFromFile)
-                .orElseThrow(() -> {
-                    logger.error(Color.bad("Could not load or create Key Store file: ") + Color.quoteFilePath(KEY_STORE_FILE));
-                    return new RuntimeException(new IOException("Error reading: " + PathUtils.path(KEY_STORE_FILE)));
-                });
+                .isPresent();
     }
     
     /**
@@ -193,6 +242,16 @@ public class KeyStore {
         
         logger.debug(Color.log("Saving Key Store..."));
         
+        if (Config.binaryKeyStore) {
+            Optional.of(KEY_STORE_BINARY_FILE)
+                    .filter(BinaryKeyStore::write)
+                    .orElseThrow(() -> {
+                        logger.error(Color.bad("Could not save or create Key Store file: ") + Color.quoteFilePath(KEY_STORE_BINARY_FILE));
+                        return new RuntimeException(new IOException("Error writing: " + PathUtils.path(KEY_STORE_BINARY_FILE)));
+                    });
+            return;
+        }
+        
         Optional.of(KEY_STORE_FILE)
                 .filter(file -> (file.exists() || Filesystem.createFile(file)))
                 .filter(file -> (Filesystem.isEmpty(file) || persistToBackup()))
@@ -242,6 +301,34 @@ public class KeyStore {
                 .orElse(true);
     }
     
+    /**
+     * Converts the text Key Store file to the binary Key Store file.<br>
+     * This may only be used when the Key Store has not been initialized.
+     *
+     * @return Whether the Key Store file was successfully converted.
+     */
+    public static boolean convertToBinary() {
+        return !loaded.get() && Optional.of(KEY_STORE_FILE)
+                .filter(File::exists)
+                .filter(KeyStore::readFromFile)
+                .map(file -> BinaryKeyStore.compact(KEY_STORE_BINARY_FILE))
+                .orElse(false);
+    }
+    
+    /**
+     * Converts the binary Key Store file to the text Key Store file.<br>
+     * This may only be used when the Key Store has not been initialized.
+     *
+     * @return Whether the Key Store file was successfully converted.
+     */
+    public static boolean convertToText() {
+        return !loaded.get() && Optional.of(KEY_STORE_BINARY_FILE)
+                .filter(File::exists)
+                .filter(BinaryKeyStore::read)
+                .map(file -> writeToFile(KEY_STORE_FILE))
+                .orElse(false);
+    }
+    
     /**
      * Returns Project Key Store.
      *
@@ -345,6 +432,44 @@ public class KeyStore {
         return getKeyStore().getAllFiles();
     }
     
+    /**
+     * Returns a read-only view of the video ids contained in the Key Store.
+     *
+     * @return A read-only view of the video ids contained in the Key Store.
+     */
+    public static Set<String> getVideoIdView() {
+        return getKeyStore().getVideoIdView();
+    }
+    
+    /**
+     * Returns a read-only view of the local file paths contained in the Key Store.
+     *
+     * @return A read-only view of the local file paths contained in the Key Store.
+     */
+    public static Set<String> getFilePathView() {
+        return getKeyStore().getFilePathView();
+    }
+    
+    /**
+     * Returns a Key Store Entry for a video id.
+     *
+     * @param videoId The id of the Video.
+     * @return The Key Store Entry for the video id, or null if the Key Store does not contain the video id.
+     */
+    public static KeyStoreEntry getByVideoId(String videoId) {
+        return getKeyStore().getByVideoId(videoId);
+    }
+    
+    /**
+     * Returns a Key Store Entry for a local file path.
+     *
+     * @param filePath The file path.
+     * @return The Key Store Entry for the file path, or null if the Key Store does not contain the file path.
+     */
+    public static KeyStoreEntry getByFilePath(String filePath) {
+        return getKeyStore().getByFilePath(filePath);
+    }
+    
     /**
      * Determines if the Key Store contains a video id.
      *
@@ -378,11 +503,70 @@ public class KeyStore {
     
     //Inner Classes
     
+    /**
+     * Holds the configuration for the Key Store.
+     */
+    public static class Config {
+        
+        //Constants
+        
+        /**
+         * The default value of the flag indicating whether to store the Key Store in the binary format or not.
+         */
+        public static final boolean DEFAULT_BINARY_KEY_STORE = false;
+        
+        
+        //Static Fields
+        
+        /**
+         * A flag indicating whether to store the Key Store in the binary format or not.
+         */
+        public static boolean binaryKeyStore = DEFAULT_BINARY_KEY_STORE;
+        
+        
+        //Static Methods
+        
+        /**
+         * Initializes the Config.
+         */
+        private static void init() {
+            binaryKeyStore = Configurator.getSetting(List.of(
+                            "binaryKeyStore",
+                            "keyStore.binary",
+                            "process.binaryKeyStore"),
+                    DEFAULT_BINARY_KEY_STORE);
+        }
+        
+    }
+    
     /**
      * Defines the Key Store for the Project.
      */
     public static class ProjectKeyStore extends KeyStoreMap<ChannelKeyStore> {
         
+        //Fields
+        
+        /**
+         * The index of the Key Store Entries in the Project Key Store by video id.
+         */
+        private final KeyStoreIndex videoIdIndex;
+        
+        /**
+         * The index of the Key Store Entries in the Project Key Store by local file path.
+         */
+        private final KeyStoreIndex filePathIndex;
+        
+        /**
+         * The map of Key Store Entries changed since the Project Key Store was last saved, to whether they were added or removed.
+         */
+        private final Map<KeyStoreEntry, Boolean> changes;
+        
+        /**
+         * A flag indicating whether changes to the Project Key Store are being tracked or not.
+         */
+        private boolean tracking;
+        
+        
         //Constructors
         
         /**
@@ -390,6 +574,12 @@ public class KeyStore {
          */
         private ProjectKeyStore() {
             super();
+            
+            this.videoIdIndex = new KeyStoreIndex();
+            this.filePathIndex = new KeyStoreIndex();
+            
+            this.changes = new LinkedHashMap<>();
+            this.tracking = false;
         }
         
         
@@ -401,7 +591,7 @@ public class KeyStore {
          * @param channelName The name of the Channel.
          * @return The Channel Key Store.
          */
-        public ChannelKeyStore get(String channelName) {
+        public synchronized ChannelKeyStore get(String channelName) {
             return computeIfAbsent(channelName, ChannelKeyStore::new);
         }
         
@@ -500,22 +690,126 @@ public class KeyStore {
          */
         @Override
         public List<String> getAllVideoIds() {
-            return getAllChannelEntries().stream()
-                    .map(ChannelKeyStore::getAllVideoIds).flatMap(Collection::stream)
-                    .distinct()
-                    .collect(Collectors.toList());
+            return new ArrayList<>(getVideoIdView());
+        }
+        
+        /**
+         * Returns a read-only view of the video ids contained in the Project Key Store.
+         *
+         * @return A read-only view of the distinct video ids contained in the Project KeyStore.
+         */
+        @Override
+        public Set<String> getVideoIdView() {
+            return videoIdIndex.getKeyView();
+        }
+        
+        /**
+         * Returns a read-only view of the local file paths contained in the Project Key Store.
+         *
+         * @return A read-only view of the distinct local file paths contained in the Project KeyStore.
+         */
+        @Override
+        public Set<String> getFilePathView() {
+            return filePathIndex.getKeyView();
+        }
+        
+        /**
+         * Returns a Key Store Entry from the Project Key Store for a video id.
+         *
+         * @param videoId The id of the Video.
+         * @return The Key Store Entry for the video id, or null if the Project Key Store does not contain the video id.
+         */
+        public synchronized KeyStoreEntry getByVideoId(String videoId) {
+            return videoIdIndex.getFirst(videoId);
+        }
+        
+        /**
+         * Returns a Key Store Entry from the Project Key Store for a local file path.
+         *
+         * @param filePath The file path.
+         * @return The Key Store Entry for the file path, or null if the Project Key Store does not contain the file path.
+         */
+        @Override
+        public synchronized KeyStoreEntry getByFilePath(String filePath) {
+            return Optional.ofNullable(filePath)
+                    .map(PathUtils::localPath)
+                    .map(filePathIndex::getFirst)
+                    .orElse(null);
+        }
+        
+        /**
+         * Adds a Key Store Entry to the indexes of the Project Key Store.
+         *
+         * @param entry The Key Store Entry.
+         */
+        private synchronized void index(KeyStoreEntry entry) {
+            videoIdIndex.index(entry.getVideoId(), entry);
+            filePathIndex.index(entry.getLocalPath(), entry);
+        }
+        
+        /**
+         * Removes a Key Store Entry from the indexes of the Project Key Store.
+         *
+         * @param entry The Key Store Entry.
+         */
+        private synchronized void unindex(KeyStoreEntry entry) {
+            videoIdIndex.unindex(entry.getVideoId(), entry);
+            filePathIndex.unindex(entry.getLocalPath(), entry);
+        }
+        
+        /**
+         * Starts tracking the changes to the Project Key Store.
+         */
+        private synchronized void trackChanges() {
+            changes.clear();
+            tracking = true;
+        }
+        
+        /**
+         * Records a change to the Project Key Store, if changes are being tracked.
+         *
+         * @param entry The Key Store Entry.
+         * @param added Whether the Key Store Entry was added or removed.
+         */
+        private synchronized void recordChange(KeyStoreEntry entry, boolean added) {
+            if (tracking) {
+                changes.put(entry, added);
+            }
+        }
+        
+        /**
+         * Returns and clears the changes to the Project Key Store since it was last saved.
+         *
+         * @return The map of changed Key Store Entries, to whether they were added or removed.
+         */
+        private synchronized Map<KeyStoreEntry, Boolean> drainChanges() {
+            final Map<KeyStoreEntry, Boolean> drained = new LinkedHashMap<>(changes);
+            changes.clear();
+            return drained;
         }
         
         /**
-         * Parses the lines from a Key Store file.
+         * Returns the number of Key Store Entries contained in the Project Key Store.
+         *
+         * @return The number of Key Store Entries contained in the Project Key Store.
+         */
+        private synchronized int getEntryCount() {
+            return values().stream().mapToInt(Map::size).sum();
+        }
+        
+        /**
+         * Parses the lines from a Key Store file.<br>
+         * The lines are parsed in parallel chunks, then the resulting Key Store Entries are added in file order.
          *
          * @param lines The lines from the Key Store file.
          * @return Whether the lines from the Key Store file were successfully parsed.
          */
         private boolean parse(List<String> lines) {
             return Optional.ofNullable(lines)
-                    .map(keyStoreLines -> keyStoreLines.stream()
+                    .map(keyStoreLines -> keyStoreLines.parallelStream()
                             .map((CheckedFunction<String, KeyStoreEntry>) KeyStoreEntry::parse)
+                            .collect(Collectors.toList()))
+                    .map(entries -> entries.stream()
                             .map(this::put)
                             .reduce(true, Boolean::logicalAnd))
                     .isPresent();
@@ -546,6 +840,11 @@ public class KeyStore {
          */
         public String channelName;
         
+        /**
+         * The index of the Key Store Entries in the Channel Key Store by local file path.
+         */
+        private final KeyStoreIndex filePathIndex;
+        
         
         //Constructors
         
@@ -558,11 +857,56 @@ public class KeyStore {
             super();
             
             this.channelName = channelName;
+            this.filePathIndex = new KeyStoreIndex();
         }
         
         
         //Methods
         
+        /**
+         * Adds a Key Store Entry to the Channel Key Store and its indexes.
+         *
+         * @param videoId The id of the Video.
+         * @param entry   The Key Store Entry.
+         * @return The Key Store Entry previously associated with the video id, or null if there was none.
+         */
+        @Override
+        public KeyStoreEntry put(String videoId, KeyStoreEntry entry) {
+            final KeyStoreEntry previous = super.put(videoId, entry);
+            unindex(previous);
+            index(entry);
+            if ((previous == null) || !Objects.equals(previous.getLocalPath(), entry.getLocalPath())) {
+                getKeyStore().recordChange(entry, true);
+            }
+            return previous;
+        }
+        
+        /**
+         * Removes a Key Store Entry from the Channel Key Store and its indexes.
+         *
+         * @param videoId The id of the Video.
+         * @return The Key Store Entry previously associated with the video id, or null if there was none.
+         */
+        @Override
+        public KeyStoreEntry remove(Object videoId) {
+            final KeyStoreEntry removed = super.remove(videoId);
+            unindex(removed);
+            Optional.ofNullable(removed).ifPresent(entry -> getKeyStore().recordChange(entry, false));
+            return removed;
+        }
+        
+        /**
+         * Removes all Key Store Entries from the Channel Key Store and its indexes.
+         */
+        @Override
+        public void clear() {
+            values().forEach(entry -> {
+                unindex(entry);
+                getKeyStore().recordChange(entry, false);
+            });
+            super.clear();
+        }
+        
         /**
          * Adds a Key Store Entry to the Channel Key Store.
          *
@@ -572,7 +916,7 @@ public class KeyStore {
         public boolean put(KeyStoreEntry entry) {
             return Optional.ofNullable(entry)
                     .filter(KeyStoreEntry::isValid)
-                    .map(keyStoreEntry -> (super.put(keyStoreEntry.getVideoId(), keyStoreEntry) == null))
+                    .map(keyStoreEntry -> (put(keyStoreEntry.getVideoId(), keyStoreEntry) == null))
                     .orElse(false);
         }
         
@@ -599,6 +943,64 @@ public class KeyStore {
             return new ArrayList<>(keySet());
         }
         
+        /**
+         * Returns a read-only view of the video ids contained in the Channel Key Store.
+         *
+         * @return A read-only view of the video ids contained in the Channel KeyStore.
+         */
+        @Override
+        public Set<String> getVideoIdView() {
+            return Collections.unmodifiableSet(keySet());
+        }
+        
+        /**
+         * Returns a read-only view of the local file paths contained in the Channel Key Store.
+         *
+         * @return A read-only view of the distinct local file paths contained in the Channel KeyStore.
+         */
+        @Override
+        public Set<String> getFilePathView() {
+            return filePathIndex.getKeyView();
+        }
+        
+        /**
+         * Returns a Key Store Entry from the Channel Key Store for a local file path.
+         *
+         * @param filePath The file path.
+         * @return The Key Store Entry for the file path, or null if the Channel Key Store does not contain the file path.
+         */
+        @Override
+        public KeyStoreEntry getByFilePath(String filePath) {
+            return Optional.ofNullable(filePath)
+                    .map(PathUtils::localPath)
+                    .map(filePathIndex::getFirst)
+                    .orElse(null);
+        }
+        
+        /**
+         * Adds a Key Store Entry to the indexes of the Channel Key Store and the Project Key Store.
+         *
+         * @param entry The Key Store Entry.
+         */
+        private void index(KeyStoreEntry entry) {
+            Optional.ofNullable(entry).ifPresent(keyStoreEntry -> {
+                filePathIndex.index(keyStoreEntry.getLocalPath(), keyStoreEntry);
+                getKeyStore().index(keyStoreEntry);
+            });
+        }
+        
+        /**
+         * Removes a Key Store Entry from the indexes of the Channel Key Store and the Project Key Store.
+         *
+         * @param entry The Key Store Entry.
+         */
+        private void unindex(KeyStoreEntry entry) {
+            Optional.ofNullable(entry).ifPresent(keyStoreEntry -> {
+                filePathIndex.unindex(keyStoreEntry.getLocalPath(), keyStoreEntry);
+                getKeyStore().unindex(keyStoreEntry);
+            });
+        }
+        
         /**
          * Returns all Key Store Entries contained in the Channel Key Store.
          *
@@ -658,16 +1060,35 @@ public class KeyStore {
          */
         public abstract List<String> getAllVideoIds();
         
+        /**
+         * Returns a read-only view of the video ids contained in the Key Store.
+         *
+         * @return A read-only view of the distinct video ids contained in the KeyStore.
+         */
+        public abstract Set<String> getVideoIdView();
+        
+        /**
+         * Returns a read-only view of the local file paths contained in the Key Store.
+         *
+         * @return A read-only view of the distinct local file paths contained in the KeyStore.
+         */
+        public abstract Set<String> getFilePathView();
+        
+        /**
+         * Returns a Key Store Entry from the Key Store for a local file path.
+         *
+         * @param filePath The file path.
+         * @return The Key Store Entry for the file path, or null if the KeyStore does not contain the file path.
+         */
+        public abstract KeyStoreEntry getByFilePath(String filePath);
+        
         /**
          * Returns all local file paths contained in the Key Store.
          *
          * @return The distinct list of local file paths contained in the KeyStore.
          */
         public List<String> getAllFilePaths() {
-            return getAllEntries().stream()
-                    .map(KeyStoreEntry::getLocalPath)
-                    .distinct()
-                    .collect(Collectors.toList());
+            return new ArrayList<>(getFilePathView());
         }
         
         /**
@@ -690,7 +1111,7 @@ public class KeyStore {
          */
         public boolean containsVideoId(String videoId) {
             return Optional.ofNullable(videoId)
-                    .map(search -> getAllVideoIds().contains(search))
+                    .map(search -> getVideoIdView().contains(search))
                     .orElse(false);
         }
         
@@ -703,7 +1124,7 @@ public class KeyStore {
         public boolean containsFilePath(String filePath) {
             return Optional.ofNullable(filePath)
                     .map(PathUtils::localPath)
-                    .map(search -> getAllFilePaths().contains(search))
+                    .map(search -> getFilePathView().contains(search))
                     .orElse(false);
         }
         
@@ -722,6 +1143,440 @@ public class KeyStore {
         
     }
     
+    /**
+     * Defines a secondary index of Key Store Entries by a key.
+     */
+    private static class KeyStoreIndex extends ConcurrentHashMap<String, Set<KeyStoreEntry>> {
+        
+        //Constructors
+        
+        /**
+         * Creates a Key Store Index.
+         */
+        private KeyStoreIndex() {
+            super();
+        }
+        
+        
+        //Methods
+        
+        /**
+         * Adds a Key Store Entry to the Key Store Index.
+         *
+         * @param key   The key.
+         * @param entry The Key Store Entry.
+         */
+        private void index(String key, KeyStoreEntry entry) {
+            compute(key, (indexKey, entries) -> {
+                final Set<KeyStoreEntry> indexEntries = Optional.ofNullable(entries).orElseGet(LinkedHashSet::new);
+                indexEntries.add(entry);
+                return indexEntries;
+            });
+        }
+        
+        /**
+         * Removes a Key Store Entry from the Key Store Index.
+         *
+         * @param key   The key.
+         * @param entry The Key Store Entry.
+         */
+        private void unindex(String key, KeyStoreEntry entry) {
+            computeIfPresent(key, (indexKey, entries) -> {
+                entries.remove(entry);
+                return entries.isEmpty() ? null : entries;
+            });
+        }
+        
+        /**
+         * Returns the first Key Store Entry in the Key Store Index for a key.
+         *
+         * @param key The key.
+         * @return The first Key Store Entry for the key, or null if the Key Store Index does not contain the key.
+         */
+        private KeyStoreEntry getFirst(String key) {
+            return Optional.ofNullable(get(key))
+                    .flatMap(entries -> entries.stream().findFirst())
+                    .orElse(null);
+        }
+        
+        
+        //Getters
+        
+        /**
+         * Returns a read-only view of the keys in the Key Store Index.
+         *
+         * @return A read-only view of the keys in the Key Store Index.
+         */
+        private Set<String> getKeyView() {
+            return Collections.unmodifiableSet(keySet());
+        }
+        
+    }
+    
+    /**
+     * Reads and writes the Key Store in the binary format.<br>
+     * The binary Key Store file is an append-only log of records, read through a memory mapping.
+     * Channel names and directories are interned in a string table, changes are appended on save,
+     * and the file is atomically compacted once it holds too many superseded records.
+     */
+    private static class BinaryKeyStore {
+        
+        //Constants
+        
+        /**
+         * The file format of a binary Key Store file.
+         */
+        private static final String FILE_FORMAT = "bin";
+        
+        /**
+         * The magic number identifying a binary Key Store file.
+         */
+        private static final int MAGIC = 0x59444B53;
+        
+        /**
+         * The version of the binary Key Store format.
+         */
+        private static final int VERSION = 1;
+        
+        /**
+         * The record type defining an interned string.
+         */
+        private static final byte RECORD_STRING = 1;
+        
+        /**
+         * The record type adding a Key Store Entry.
+         */
+        private static final byte RECORD_PUT = 2;
+        
+        /**
+         * The record type removing a Key Store Entry.
+         */
+        private static final byte RECORD_REMOVE = 3;
+        
+        /**
+         * The ratio of records to Key Store Entries at which the binary Key Store file is compacted.
+         */
+        private static final int COMPACTION_RATIO = 2;
+        
+        /**
+         * The minimum number of records in the binary Key Store file before it will be compacted.
+         */
+        private static final int COMPACTION_MINIMUM = 1000;
+        
+        
+        //Static Fields
+        
+        /**
+         * The interned strings of the binary Key Store file, by id.
+         */
+        private static final List<String> strings = new ArrayList<>();
+        
+        /**
+         * The ids of the interned strings of the binary Key Store file.
+         */
+        private static final Map<String, Integer> stringIds = new HashMap<>();
+        
+        /**
+         * The number of put and remove records in the binary Key Store file.
+         */
+        private static long recordCount = 0;
+        
+        /**
+         * A flag indicating whether the binary Key Store file must be compacted before it can be appended to.
+         */
+        private static boolean compactionRequired = false;
+        
+        
+        //Static Methods
+        
+        /**
+         * Reads the Key Store from a binary Key Store file.<br>
+         * The file is read into a heap buffer rather than mapped, since a live mapping would prevent compaction from replacing the file on Windows.
+         *
+         * @param file The binary Key Store file.
+         * @return Whether the Key Store was successfully read from the file.
+         */
+        private static synchronized boolean read(File file) {
+            resetStringTable();
+            recordCount = 0;
+            compactionRequired = false;
+            
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+                final ByteBuffer buffer = ByteBuffer.allocate((int) channel.size());
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer) < 0) {
+                        break;
+                    }
+                }
+                buffer.flip();
+                if ((buffer.remaining() < (Integer.BYTES * 2)) || (buffer.getInt() != MAGIC) || (buffer.getInt() != VERSION)) {
+                    logger.error(Color.bad("Unrecognized binary Key Store file: ") + Color.quoteFilePath(file));
+                    return false;
+                }
+                
+                try {
+                    while (buffer.hasRemaining()) {
+                        readRecord(buffer);
+                    }
+                } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+                    logger.warn(Color.bad("Discarding an incomplete record at the end of the Key Store file: ") + Color.quoteFilePath(file));
+                    compactionRequired = true;
+                }
+                return true;
+                
+            } catch (IOException e) {
+                logger.error(Color.bad("Failed to read Key Store file: ") + Color.quoteFilePath(file), e);
+                return false;
+            }
+        }
+        
+        /**
+         * Reads a record from a binary Key Store file.
+         *
+         * @param buffer The buffer holding the binary Key Store file.
+         * @throws IOException When the record is not valid.
+         */
+        private static void readRecord(ByteBuffer buffer) throws IOException {
+            final byte type = buffer.get();
+            switch (type) {
+                case RECORD_STRING:
+                    final int id = buffer.getInt();
+                    final String string = readString(buffer);
+                    if (id != strings.size()) {
+                        throw new IOException("Invalid string id: " + id);
+                    }
+                    strings.add(string);
+                    stringIds.put(string, id);
+                    break;
+                
+                case RECORD_PUT:
+                    final String channelName = strings.get(buffer.getInt());
+                    final String videoId = readString(buffer);
+                    final String directory = strings.get(buffer.getInt());
+                    keyStore.put(new KeyStoreEntry(channelName, videoId, (directory + readString(buffer))));
+                    recordCount++;
+                    break;
+                
+                case RECORD_REMOVE:
+                    keyStore.get(strings.get(buffer.getInt())).remove(readString(buffer));
+                    recordCount++;
+                    break;
+                
+                default:
+                    throw new IOException("Invalid record type: " + type);
+            }
+        }
+        
+        /**
+         * Saves the changes to the Key Store to a binary Key Store file.<br>
+         * The changes are appended to the file, unless the file needs to be compacted.
+         *
+         * @param file The binary Key Store file.
+         * @return Whether the changes were successfully saved to the file.
+         */
+        private static synchronized boolean write(File file) {
+            final Map<KeyStoreEntry, Boolean> changes = keyStore.drainChanges();
+            final long compactionThreshold = Math.max(COMPACTION_MINIMUM, ((long) keyStore.getEntryCount() * COMPACTION_RATIO));
+            final boolean appendable = !compactionRequired && file.exists();
+            
+            if (!appendable || ((recordCount + changes.size()) > compactionThreshold)) {
+                return compact(file) || (appendable && append(file, changes));
+            }
+            return changes.isEmpty() || append(file, changes) || compact(file);
+        }
+        
+        /**
+         * Appends changes to the Key Store to a binary Key Store file.
+         *
+         * @param file    The binary Key Store file.
+         * @param changes The map of changed Key Store Entries, to whether they were added or removed.
+         * @return Whether the changes were successfully appended to the file.
+         */
+        private static boolean append(File file, Map<KeyStoreEntry, Boolean> changes) {
+            try (ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                 DataOutputStream out = new DataOutputStream(bytes)) {
+                for (Map.Entry<KeyStoreEntry, Boolean> change : changes.entrySet()) {
+                    if (change.getValue()) {
+                        writePut(out, change.getKey());
+                    } else {
+                        writeRemove(out, change.getKey());
+                    }
+                }
+                out.flush();
+                
+                writeFile(file, bytes.toByteArray(), StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+                recordCount += changes.size();
+                return true;
+                
+            } catch (IOException e) {
+                logger.warn(Color.bad("Failed to append to Key Store file: ") + Color.quoteFilePath(file), e);
+                compactionRequired = true;
+                return false;
+            }
+        }
+        
+        /**
+         * Compacts the Key Store into a binary Key Store file.<br>
+         * The compacted file is written beside the original file and atomically moved into place.
+         *
+         * @param file The binary Key Store file.
+         * @return Whether the Key Store was successfully compacted into the file.
+         */
+        private static synchronized boolean compact(File file) {
+            final File tmp = new File(file.getParentFile(), (file.getName() + ".tmp"));
+            final List<String> previousStrings = new ArrayList<>(strings);
+            resetStringTable();
+            
+            try (ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                 DataOutputStream out = new DataOutputStream(bytes)) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                
+                final List<KeyStoreEntry> entries = keyStore.getAllChannelEntries().stream()
+                        .map(ChannelKeyStore::getAllEntries).flatMap(Collection::stream)
+                        .filter(KeyStoreEntry::isValid)
+                        .collect(Collectors.toList());
+                for (KeyStoreEntry entry : entries) {
+                    writePut(out, entry);
+                }
+                out.flush();
+                
+                writeFile(tmp, bytes.toByteArray(), StandardOpenOption.WRITE, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+                Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                
+                recordCount = entries.size();
+                compactionRequired = false;
+                return true;
+                
+            } catch (IOException e) {
+                logger.warn(Color.bad("Failed to compact Key Store file: ") + Color.quoteFilePath(file), e);
+                Filesystem.deleteFile(tmp);
+                resetStringTable();
+                previousStrings.forEach(string -> {
+                    stringIds.put(string, strings.size());
+                    strings.add(string);
+                });
+                return false;
+            }
+        }
+        
+        /**
+         * Writes a put record for a Key Store Entry.
+         *
+         * @param out   The output stream.
+         * @param entry The Key Store Entry.
+         * @throws IOException When there is an error writing the record.
+         */
+        private static void writePut(DataOutputStream out, KeyStoreEntry entry) throws IOException {
+            final String localPath = entry.getLocalPath();
+            final int split = localPath.lastIndexOf(PathUtils.LOCAL_SEPARATOR) + 1;
+            final int channelNameId = intern(out, entry.getChannelName());
+            final int directoryId = intern(out, localPath.substring(0, split));
+            
+            out.writeByte(RECORD_PUT);
+            out.writeInt(channelNameId);
+            writeString(out, entry.getVideoId());
+            out.writeInt(directoryId);
+            writeString(out, localPath.substring(split));
+        }
+        
+        /**
+         * Writes a remove record for a Key Store Entry.
+         *
+         * @param out   The output stream.
+         * @param entry The Key Store Entry.
+         * @throws IOException When there is an error writing the record.
+         */
+        private static void writeRemove(DataOutputStream out, KeyStoreEntry entry) throws IOException {
+            final int channelNameId = intern(out, entry.getChannelName());
+            
+            out.writeByte(RECORD_REMOVE);
+            out.writeInt(channelNameId);
+            writeString(out, entry.getVideoId());
+        }
+        
+        /**
+         * Returns the id of an interned string, writing a string record if it is not yet interned.
+         *
+         * @param out    The output stream.
+         * @param string The string.
+         * @return The id of the interned string.
+         * @throws IOException When there is an error writing the record.
+         */
+        private static int intern(DataOutputStream out, String string) throws IOException {
+            final Integer existingId = stringIds.get(string);
+            if (existingId != null) {
+                return existingId;
+            }
+            
+            final int id = strings.size();
+            strings.add(string);
+            stringIds.put(string, id);
+            
+            out.writeByte(RECORD_STRING);
+            out.writeInt(id);
+            writeString(out, string);
+            return id;
+        }
+        
+        /**
+         * Resets the string table of the binary Key Store file.
+         */
+        private static void resetStringTable() {
+            strings.clear();
+            stringIds.clear();
+        }
+        
+        /**
+         * Writes a length-prefixed string.
+         *
+         * @param out    The output stream.
+         * @param string The string.
+         * @throws IOException When there is an error writing the string.
+         */
+        private static void writeString(DataOutputStream out, String string) throws IOException {
+            final byte[] data = string.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(data.length);
+            out.write(data);
+        }
+        
+        /**
+         * Reads a length-prefixed string.
+         *
+         * @param buffer The buffer.
+         * @return The string.
+         */
+        private static String readString(ByteBuffer buffer) {
+            final int length = buffer.getInt();
+            if ((length < 0) || (length > buffer.remaining())) {
+                throw new BufferUnderflowException();
+            }
+            
+            final byte[] data = new byte[length];
+            buffer.get(data);
+            return new String(data, StandardCharsets.UTF_8);
+        }
+        
+        /**
+         * Writes data to a file and forces it to disk.
+         *
+         * @param file    The file.
+         * @param data    The data.
+         * @param options The options specifying how the file is opened.
+         * @throws IOException When there is an error writing the file.
+         */
+        private static void writeFile(File file, byte[] data, StandardOpenOption... options) throws IOException {
+            try (FileChannel channel = FileChannel.open(file.toPath(), options)) {
+                final ByteBuffer buffer = ByteBuffer.wrap(data);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(false);
+            }
+        }
+        
+    }
+    
     /**
      * Defines an Entry in a KeyStore.
      */
@@ -757,9 +1612,9 @@ public class KeyStore {
         public String localPath;
         
         /**
-         * The local file.
+         * The canonical local file, resolved on first use.
          */
-        public File localFile;
+        private volatile File localFile;
         
         
         //Constructors
@@ -775,7 +1630,6 @@ public class KeyStore {
             this.channelName = channelName;
             this.videoId = videoId;
             this.localPath = Optional.ofNullable(path).map(PathUtils::localPath).orElse(null);
-            this.localFile = Optional.ofNullable(localPath).map(File::new).map(FileUtils::getCanonical).orElse(null);
         }
         
         /**
@@ -808,7 +1662,7 @@ public class KeyStore {
          */
         public boolean isValid() {
             return (getChannelName() != null) && (getVideoId() != null) &&
-                    (getLocalPath() != null) && (getLocalFile() != null);
+                    (getLocalPath() != null);
         }
         
         /**
@@ -852,11 +1706,15 @@ public class KeyStore {
         }
         
         /**
-         * Returns the local file.
+         * Returns the canonical local file.<br>
+         * The file is canonicalized on the first call and memoized, as this requires filesystem access.
          *
-         * @return The local file.
+         * @return The canonical local file.
          */
         public File getLocalFile() {
+            if ((localFile == null) && (localPath != null)) {
+                localFile = FileUtils.getCanonical(new File(localPath));
+            }
             return localFile;
         }
         
@@ -873,7 +1731,7 @@ public class KeyStore {
         private static KeyStoreEntry parse(String keyStoreLine) throws ParseException {
             return Optional.ofNullable(keyStoreLine)
                     .filter(line -> !line.isEmpty())
-                    .map(line -> line.split(Pattern.quote(SEPARATOR) + "+"))
+                    .map(SEPARATOR_PATTERN::split)
                     .filter(lineParts -> (lineParts.length == Part.values().length))
                     .map(lineParts -> new KeyStoreEntry(lineParts[0], lineParts[1], lineParts[2]))
                     .orElseThrow(() -> {
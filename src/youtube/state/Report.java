@@ -61,7 +61,7 @@ public final class Report {
      * @param video The downloaded Video.
      * @return Whether the Video was included in the download report.
      */
-    public static boolean include(Video video) {
+    public static synchronized boolean include(Video video) {
         return downloads.add(video);
     }
     
@@ -70,7 +70,7 @@ public final class Report {
      *
      * @return The list of Videos in the download report.
      */
-    public static List<Video> list() {
+    public static synchronized List<Video> list() {
         return ListUtility.toList(downloads);
     }
     
@@ -14,7 +14,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.BiConsumer;
 import java.util.stream.Stream;
 
@@ -26,6 +26,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import youtube.channel.Channels;
 import youtube.config.Color;
+import youtube.util.ApiUtils;
 import youtube.util.BackupUtils;
 import youtube.util.FileUtils;
 import youtube.util.LogUtils;
@@ -48,221 +49,263 @@ public final class Stats {
     /**
      * A counter of the total number of Channels.
      */
-    public static final AtomicLong totalChannels = new AtomicLong(0L);
+    public static final LongAdder totalChannels = new LongAdder();
     
     /**
      * A counter of the total number of Channels that were filtered this run.
      */
-    public static final AtomicLong totalFilteredChannels = new AtomicLong(0L);
+    public static final LongAdder totalFilteredChannels = new LongAdder();
     
     /**
      * A counter of the total number of Channels that were processed this run.
      */
-    public static final AtomicLong totalChannelsProcessed = new AtomicLong(0L);
+    public static final LongAdder totalChannelsProcessed = new LongAdder();
     
     /**
      * A counter of the total number of files that were downloaded this run.
      */
-    public static final AtomicLong totalDownloads = new AtomicLong(0L);
+    public static final LongAdder totalDownloads = new LongAdder();
     
     /**
      * A counter of the total number of video files that were downloaded this run.
      */
-    public static final AtomicLong totalVideoDownloads = new AtomicLong(0L);
+    public static final LongAdder totalVideoDownloads = new LongAdder();
     
     /**
      * A counter of the total number of audio files that were downloaded this run.
      */
-    public static final AtomicLong totalAudioDownloads = new AtomicLong(0L);
+    public static final LongAdder totalAudioDownloads = new LongAdder();
     
     /**
      * A counter of the total number of files that were renamed this run.
      */
-    public static final AtomicLong totalRenames = new AtomicLong(0L);
+    public static final LongAdder totalRenames = new LongAdder();
     
     /**
      * A counter of the total number of video files that were renamed this run.
      */
-    public static final AtomicLong totalVideoRenames = new AtomicLong(0L);
+    public static final LongAdder totalVideoRenames = new LongAdder();
     
     /**
      * A counter of the total number of audio files that were renamed this run.
      */
-    public static final AtomicLong totalAudioRenames = new AtomicLong(0L);
+    public static final LongAdder totalAudioRenames = new LongAdder();
     
     /**
      * A counter of the total number of files that were deleted this run.
      */
-    public static final AtomicLong totalDeletions = new AtomicLong(0L);
+    public static final LongAdder totalDeletions = new LongAdder();
     
     /**
      * A counter of the total number of video files that were deleted this run.
      */
-    public static final AtomicLong totalVideoDeletions = new AtomicLong(0L);
+    public static final LongAdder totalVideoDeletions = new LongAdder();
     
     /**
      * A counter of the total number of audio files that were deleted this run.
      */
-    public static final AtomicLong totalAudioDeletions = new AtomicLong(0L);
+    public static final LongAdder totalAudioDeletions = new LongAdder();
     
     /**
      * A counter of the total number of files that failed to download this run.
      */
-    public static final AtomicLong totalDownloadFailures = new AtomicLong(0L);
+    public static final LongAdder totalDownloadFailures = new LongAdder();
     
     /**
      * A counter of the total number of video files that failed to download this run.
      */
-    public static final AtomicLong totalVideoDownloadFailures = new AtomicLong(0L);
+    public static final LongAdder totalVideoDownloadFailures = new LongAdder();
     
     /**
      * A counter of the total number of audio files that failed to download this run.
      */
-    public static final AtomicLong totalAudioDownloadFailures = new AtomicLong(0L);
+    public static final LongAdder totalAudioDownloadFailures = new LongAdder();
     
     /**
      * A counter of the total data downloaded from Youtube this run, in bytes.
      */
-    public static final AtomicLong totalDataDownloaded = new AtomicLong(0L);
+    public static final LongAdder totalDataDownloaded = new LongAdder();
     
     /**
      * A counter of the total video data downloaded from Youtube this run, in bytes.
      */
-    public static final AtomicLong totalVideoDataDownloaded = new AtomicLong(0L);
+    public static final LongAdder totalVideoDataDownloaded = new LongAdder();
     
     /**
      * A counter of the total audio data downloaded from Youtube this run, in bytes.
      */
-    public static final AtomicLong totalAudioDataDownloaded = new AtomicLong(0L);
+    public static final LongAdder totalAudioDataDownloaded = new LongAdder();
     
     /**
      * A counter of the total number of times the Youtube Data API was called this run.
      */
-    public static final AtomicLong totalApiCalls = new AtomicLong(0L);
+    public static final LongAdder totalApiCalls = new LongAdder();
     
     /**
      * A counter of the total number of times the Youtube Data API was called to fetch an Entity this run.
      */
-    public static final AtomicLong totalApiEntityCalls = new AtomicLong(0L);
+    public static final LongAdder totalApiEntityCalls = new LongAdder();
     
     /**
      * A counter of the total number of times the Youtube Data API was called to fetch data this run.
      */
-    public static final AtomicLong totalApiDataCalls = new AtomicLong(0L);
+    public static final LongAdder totalApiDataCalls = new LongAdder();
     
     /**
      * A counter of the total number of times calling the Youtube Data API failed this run.
      */
-    public static final AtomicLong totalApiFailures = new AtomicLong(0L);
+    public static final LongAdder totalApiFailures = new LongAdder();
+    
+    /**
+     * A counter of the total number of times a failed call to the Youtube Data API was retried this run.
+     */
+    public static final LongAdder totalApiRetries = new LongAdder();
+    
+    /**
+     * A counter of the total number of times a call to the Youtube Data API was served from the response cache this run.
+     */
+    public static final LongAdder totalApiCacheHits = new LongAdder();
     
     /**
      * A counter of the total daily quota for calling the Youtube Data API.
      */
-    public static final AtomicLong totalQuota = new AtomicLong(0L);
+    public static final LongAdder totalQuota = new LongAdder();
     
     /**
      * A counter of the total daily quota used by calling the Youtube Data API.
      */
-    public static final AtomicLong totalQuotaUsed = new AtomicLong(0L);
+    public static final LongAdder totalQuotaUsed = new LongAdder();
     
     /**
      * A counter of the total daily quota remaining for calling the Youtube Data API.
      */
-    public static final AtomicLong totalQuotaRemaining = new AtomicLong(0L);
+    public static final LongAdder totalQuotaRemaining = new LongAdder();
     
     /**
      * A counter of the total number of files saved from Youtube.
      */
-    public static final AtomicLong total = new AtomicLong(0L);
+    public static final LongAdder total = new LongAdder();
     
     /**
      * A counter of the total number of video files saved from Youtube.
      */
-    public static final AtomicLong totalVideo = new AtomicLong(0L);
+    public static final LongAdder totalVideo = new LongAdder();
     
     /**
      * A counter of the total number of audio files saved from Youtube.
      */
-    public static final AtomicLong totalAudio = new AtomicLong(0L);
+    public static final LongAdder totalAudio = new LongAdder();
     
     /**
      * A counter of the total data saved from Youtube, in bytes.
      */
-    public static final AtomicLong totalData = new AtomicLong(0L);
+    public static final LongAdder totalData = new LongAdder();
     
     /**
      * A counter of the total video data saved from Youtube, in bytes.
      */
-    public static final AtomicLong totalVideoData = new AtomicLong(0L);
+    public static final LongAdder totalVideoData = new LongAdder();
     
     /**
      * A counter of the total audio data saved from Youtube, in bytes.
      */
-    public static final AtomicLong totalAudioData = new AtomicLong(0L);
+    public static final LongAdder totalAudioData = new LongAdder();
     
     /**
      * A counter of the total number of files saved from Youtube, considering only the Channels that were processed this run.
      */
-    public static final AtomicLong totalFiltered = new AtomicLong(0L);
+    public static final LongAdder totalFiltered = new LongAdder();
     
     /**
      * A counter of the total number of video files saved from Youtube, considering only the Channels that were processed this run.
      */
-    public static final AtomicLong totalFilteredVideo = new AtomicLong(0L);
+    public static final LongAdder totalFilteredVideo = new LongAdder();
     
     /**
      * A counter of the total number of audio files saved from Youtube, considering only the Channels that were processed this run.
      */
-    public static final AtomicLong totalFilteredAudio = new AtomicLong(0L);
+    public static final LongAdder totalFilteredAudio = new LongAdder();
     
     /**
      * A counter of the total data saved from Youtube, in bytes, considering only the Channels that were processed this run.
      */
-    public static final AtomicLong totalFilteredData = new AtomicLong(0L);
+    public static final LongAdder totalFilteredData = new LongAdder();
     
     /**
      * A counter of the total video data saved from Youtube, in bytes, considering only the Channels that were processed this run.
      */
-    public static final AtomicLong totalFilteredVideoData = new AtomicLong(0L);
+    public static final LongAdder totalFilteredVideoData = new LongAdder();
     
     /**
      * A counter of the total audio data saved from Youtube, in bytes, considering only the Channels that were processed this run.
      */
-    public static final AtomicLong totalFilteredAudioData = new AtomicLong(0L);
+    public static final LongAdder totalFilteredAudioData = new LongAdder();
     
     /**
      * A counter of the total number of Channel caches saved from the Youtube Data API.
      */
-    public static final AtomicLong totalChannelCaches = new AtomicLong(0L);
+    public static final LongAdder totalChannelCaches = new LongAdder();
     
     /**
      * A counter of the total data size of Channel caches saved from the Youtube Data API.
      */
-    public static final AtomicLong totalChannelCacheData = new AtomicLong(0L);
+    public static final LongAdder totalChannelCacheData = new LongAdder();
+    
+    /**
+     * A counter of the total number of lookups in the Entity cache this run.
+     */
+    public static final LongAdder totalEntityCacheLookups = new LongAdder();
+    
+    /**
+     * A counter of the total number of lookups in the Entity cache that found a cached Entity this run.
+     */
+    public static final LongAdder totalEntityCacheHits = new LongAdder();
+    
+    /**
+     * A counter of the total number of lookups in the Entity cache that did not find a cached Entity this run.
+     */
+    public static final LongAdder totalEntityCacheMisses = new LongAdder();
+    
+    /**
+     * A counter of the total number of Entities evicted from the Entity cache this run.
+     */
+    public static final LongAdder totalEntityCacheEvictions = new LongAdder();
     
     /**
      * A counter of the total number of logs present in the log directory.
      */
-    public static final AtomicLong totalLogs = new AtomicLong(0L);
+    public static final LongAdder totalLogs = new LongAdder();
     
     /**
      * A counter of the total log data present in the log directory.
      */
-    public static final AtomicLong totalLogData = new AtomicLong(0L);
+    public static final LongAdder totalLogData = new LongAdder();
     
     /**
      * A counter of the total number of backups present in the backup directory.
      */
-    public static final AtomicLong totalBackups = new AtomicLong(0L);
+    public static final LongAdder totalBackups = new LongAdder();
     
     /**
      * A counter of the total backup data present in the backup directory.
      */
-    public static final AtomicLong totalBackupData = new AtomicLong(0L);
+    public static final LongAdder totalBackupData = new LongAdder();
     
     
     //Static Methods
     
+    /**
+     * Sets the value of a counter.<br>
+     * This is only used while calculating the statistics at the end of a run, when the counter is not being updated concurrently.
+     *
+     * @param stat  The counter.
+     * @param value The value.
+     */
+    private static void set(LongAdder stat, long value) {
+        stat.reset();
+        stat.add(value);
+    }
+    
     /**
      * Calculates the total data saved from Youtube.
      */
@@ -289,13 +332,13 @@ public final class Stats {
                 totalFiltered, totalFilteredData,
                 total, totalData,
                 totalQuota, totalQuotaUsed, totalQuotaRemaining
-        ).forEach(stat -> stat.set(0L));
+        ).forEach(LongAdder::reset);
         
         Stream.of(false, true).forEach(filtered ->
                 Channels.getChannels().stream()
                         .filter(channel -> (!filtered || Channels.isFiltered(channel.getConfig().getKey())))
                         .map(Mappers.forEach(channel ->
-                                (filtered ? totalFilteredChannels : totalChannels).incrementAndGet()))
+                                (filtered ? totalFilteredChannels : totalChannels).increment()))
                         .flatMap(channel -> channel.getState().getSaved().stream()
                                 .map(saved -> channel.getState().getKeyStore().get(saved))
                                 .filter(Objects::nonNull))
@@ -303,48 +346,50 @@ public final class Stats {
                         .filter(fileData::containsKey)
                         .forEach(filePath -> {
                             if (FileUtils.isVideoFormat(filePath)) {
-                                (filtered ? totalFilteredVideo : totalVideo).incrementAndGet();
-                                (filtered ? totalFilteredVideoData : totalVideoData).addAndGet(fileData.get(filePath));
+                                (filtered ? totalFilteredVideo : totalVideo).increment();
+                                (filtered ? totalFilteredVideoData : totalVideoData).add(fileData.get(filePath));
                             } else if (FileUtils.isAudioFormat(filePath)) {
-                                (filtered ? totalFilteredAudio : totalAudio).incrementAndGet();
-                                (filtered ? totalFilteredAudioData : totalAudioData).addAndGet(fileData.get(filePath));
+                                (filtered ? totalFilteredAudio : totalAudio).increment();
+                                (filtered ? totalFilteredAudioData : totalAudioData).add(fileData.get(filePath));
                             }
                         }));
         
         Channels.fetchAllChannelCaches()
                 .forEach(cache -> {
-                    totalChannelCaches.incrementAndGet();
-                    totalChannelCacheData.addAndGet(Filesystem.sizeOf(cache));
+                    totalChannelCaches.increment();
+                    totalChannelCacheData.add(Filesystem.sizeOf(cache));
                 });
         
         LogUtils.fetchAllLogs()
                 .forEach(log -> {
-                    totalLogs.incrementAndGet();
-                    totalLogData.addAndGet(log.length());
+                    totalLogs.increment();
+                    totalLogData.add(log.length());
                 });
         
         BackupUtils.fetchAllBackups()
                 .forEach(file -> {
-                    totalBackups.incrementAndGet();
-                    totalBackupData.addAndGet(Filesystem.sizeOf(file));
+                    totalBackups.increment();
+                    totalBackupData.add(Filesystem.sizeOf(file));
                 });
         
-        totalDownloads.set(totalVideoDownloads.get() + totalAudioDownloads.get());
-        totalDownloadFailures.set(totalVideoDownloadFailures.get() + totalAudioDownloadFailures.get());
-        totalDataDownloaded.set(totalVideoDataDownloaded.get() + totalAudioDataDownloaded.get());
+        set(totalDownloads, totalVideoDownloads.sum() + totalAudioDownloads.sum());
+        set(totalDownloadFailures, totalVideoDownloadFailures.sum() + totalAudioDownloadFailures.sum());
+        set(totalDataDownloaded, totalVideoDataDownloaded.sum() + totalAudioDataDownloaded.sum());
+        
+        set(totalRenames, totalVideoRenames.sum() + totalAudioRenames.sum());
+        set(totalDeletions, totalVideoDeletions.sum() + totalAudioDeletions.sum());
         
-        totalRenames.set(totalVideoRenames.get() + totalAudioRenames.get());
-        totalDeletions.set(totalVideoDeletions.get() + totalAudioDeletions.get());
+        set(totalFiltered, totalFilteredVideo.sum() + totalFilteredAudio.sum());
+        set(totalFilteredData, totalFilteredVideoData.sum() + totalFilteredAudioData.sum());
         
-        totalFiltered.set(totalFilteredVideo.get() + totalFilteredAudio.get());
-        totalFilteredData.set(totalFilteredVideoData.get() + totalFilteredAudioData.get());
+        set(totalEntityCacheLookups, totalEntityCacheHits.sum() + totalEntityCacheMisses.sum());
         
-        total.set(totalVideo.get() + totalAudio.get());
-        totalData.set(totalVideoData.get() + totalAudioData.get());
+        set(total, totalVideo.sum() + totalAudio.sum());
+        set(totalData, totalVideoData.sum() + totalAudioData.sum());
         
-        totalQuota.set(ApiQuota.DAILY_QUOTA);
-        totalQuotaUsed.set(ApiQuota.getQuotaUsage());
-        totalQuotaRemaining.set(ApiQuota.getQuotaRemaining());
+        set(totalQuota, ApiQuota.DAILY_QUOTA);
+        set(totalQuotaUsed, ApiQuota.getQuotaUsage());
+        set(totalQuotaRemaining, ApiQuota.getQuotaRemaining());
     }
     
     /**
@@ -383,67 +428,75 @@ public final class Stats {
         logger.debug(Color.number("--- Stats ---"));
         
         statPrinter.accept("Channel", null);
-        statPrinter.accept("\tProcessed", totalChannelsProcessed.get());
+        statPrinter.accept("\tProcessed", totalChannelsProcessed.sum());
         if (Channels.isFilterActive()) {
-            statPrinter.accept("\tFiltered", totalFilteredChannels.get());
+            statPrinter.accept("\tFiltered", totalFilteredChannels.sum());
         }
-        statPrinter.accept("\tTotal", totalChannels.get());
+        statPrinter.accept("\tTotal", totalChannels.sum());
         
         statPrinter.accept("Run", null);
-        statPrinter.accept("\tDownloaded", totalDownloads.get());
-        statPrinter.accept("\t\tVideo", totalVideoDownloads.get());
-        statPrinter.accept("\t\tAudio", totalAudioDownloads.get());
-        statPrinter.accept("\tFailed", totalDownloadFailures.get());
-        statPrinter.accept("\t\tVideo", totalVideoDownloadFailures.get());
-        statPrinter.accept("\t\tAudio", totalAudioDownloadFailures.get());
-        statPrinter.accept("\tRenamed", totalRenames.get());
-        statPrinter.accept("\t\tVideo", totalVideoRenames.get());
-        statPrinter.accept("\t\tAudio", totalAudioRenames.get());
-        statPrinter.accept("\tDeleted", totalDeletions.get());
-        statPrinter.accept("\t\tVideo", totalVideoDeletions.get());
-        statPrinter.accept("\t\tAudio", totalAudioDeletions.get());
-        statPrinter.accept("\tData", (double) totalDataDownloaded.get());
-        statPrinter.accept("\t\tVideo", (double) totalVideoDataDownloaded.get());
-        statPrinter.accept("\t\tAudio", (double) totalAudioDataDownloaded.get());
+        statPrinter.accept("\tDownloaded", totalDownloads.sum());
+        statPrinter.accept("\t\tVideo", totalVideoDownloads.sum());
+        statPrinter.accept("\t\tAudio", totalAudioDownloads.sum());
+        statPrinter.accept("\tFailed", totalDownloadFailures.sum());
+        statPrinter.accept("\t\tVideo", totalVideoDownloadFailures.sum());
+        statPrinter.accept("\t\tAudio", totalAudioDownloadFailures.sum());
+        statPrinter.accept("\tRenamed", totalRenames.sum());
+        statPrinter.accept("\t\tVideo", totalVideoRenames.sum());
+        statPrinter.accept("\t\tAudio", totalAudioRenames.sum());
+        statPrinter.accept("\tDeleted", totalDeletions.sum());
+        statPrinter.accept("\t\tVideo", totalVideoDeletions.sum());
+        statPrinter.accept("\t\tAudio", totalAudioDeletions.sum());
+        statPrinter.accept("\tData", (double) totalDataDownloaded.sum());
+        statPrinter.accept("\t\tVideo", (double) totalVideoDataDownloaded.sum());
+        statPrinter.accept("\t\tAudio", (double) totalAudioDataDownloaded.sum());
         
         statPrinter.accept("Api", null);
-        statPrinter.accept("\tCalls", totalApiCalls.get());
-        statPrinter.accept("\t\tEntity", totalApiEntityCalls.get());
-        statPrinter.accept("\t\tData", totalApiDataCalls.get());
-        statPrinter.accept("\tFailures", totalApiFailures.get());
-        statPrinter.accept("\tQuota", totalQuota.get());
-        statPrinter.accept("\t\tUsed", totalQuotaUsed.get());
-        statPrinter.accept("\t\tRemaining", totalQuotaRemaining.get());
+        statPrinter.accept("\tCalls", totalApiCalls.sum());
+        statPrinter.accept("\t\tEntity", totalApiEntityCalls.sum());
+        statPrinter.accept("\t\tData", totalApiDataCalls.sum());
+        statPrinter.accept("\tFailures", totalApiFailures.sum());
+        statPrinter.accept("\tRetries", totalApiRetries.sum());
+        if (ApiUtils.Config.cacheResponses) {
+            statPrinter.accept("\tCached", totalApiCacheHits.sum());
+        }
+        statPrinter.accept("\tQuota", totalQuota.sum());
+        statPrinter.accept("\t\tUsed", totalQuotaUsed.sum());
+        statPrinter.accept("\t\tRemaining", totalQuotaRemaining.sum());
         
         statPrinter.accept("Cache", null);
-        statPrinter.accept("\tChannels", totalChannelCaches.get());
-        statPrinter.accept("\t\tData", (double) totalChannelCacheData.get());
+        statPrinter.accept("\tChannels", totalChannelCaches.sum());
+        statPrinter.accept("\t\tData", (double) totalChannelCacheData.sum());
+        statPrinter.accept("\tEntities", totalEntityCacheLookups.sum());
+        statPrinter.accept("\t\tHits", totalEntityCacheHits.sum());
+        statPrinter.accept("\t\tMisses", totalEntityCacheMisses.sum());
+        statPrinter.accept("\t\tEvicted", totalEntityCacheEvictions.sum());
         if (LogUtils.Config.allowFileLogging) {
-            statPrinter.accept("\tLogs", totalLogs.get());
-            statPrinter.accept("\t\tData", (double) totalLogData.get());
+            statPrinter.accept("\tLogs", totalLogs.sum());
+            statPrinter.accept("\t\tData", (double) totalLogData.sum());
         }
         if (BackupUtils.Config.enableBackups) {
-            statPrinter.accept("\tBackups", totalBackups.get());
-            statPrinter.accept("\t\tData", (double) totalBackupData.get());
+            statPrinter.accept("\tBackups", totalBackups.sum());
+            statPrinter.accept("\t\tData", (double) totalBackupData.sum());
         }
         
         if (Channels.isFilterActive()) {
             statPrinter.accept("Filter", null);
-            statPrinter.accept("\tDownloads", totalFiltered.get());
-            statPrinter.accept("\t\tVideo", totalFilteredVideo.get());
-            statPrinter.accept("\t\tAudio", totalFilteredAudio.get());
-            statPrinter.accept("\tData", (double) totalFilteredData.get());
-            statPrinter.accept("\t\tVideo", (double) totalFilteredVideoData.get());
-            statPrinter.accept("\t\tAudio", (double) totalFilteredAudioData.get());
+            statPrinter.accept("\tDownloads", totalFiltered.sum());
+            statPrinter.accept("\t\tVideo", totalFilteredVideo.sum());
+            statPrinter.accept("\t\tAudio", totalFilteredAudio.sum());
+            statPrinter.accept("\tData", (double) totalFilteredData.sum());
+            statPrinter.accept("\t\tVideo", (double) totalFilteredVideoData.sum());
+            statPrinter.accept("\t\tAudio", (double) totalFilteredAudioData.sum());
         }
         
         statPrinter.accept("Total", null);
-        statPrinter.accept("\tDownloads", total.get());
-        statPrinter.accept("\t\tVideo", totalVideo.get());
-        statPrinter.accept("\t\tAudio", totalAudio.get());
-        statPrinter.accept("\tData", (double) totalData.get());
-        statPrinter.accept("\t\tVideo", (double) totalVideoData.get());
-        statPrinter.accept("\t\tAudio", (double) totalAudioData.get());
+        statPrinter.accept("\tDownloads", total.sum());
+        statPrinter.accept("\t\tVideo", totalVideo.sum());
+        statPrinter.accept("\t\tAudio", totalAudio.sum());
+        statPrinter.accept("\tData", (double) totalData.sum());
+        statPrinter.accept("\t\tVideo", (double) totalVideoData.sum());
+        statPrinter.accept("\t\tAudio", (double) totalAudioData.sum());
     }
     
 }
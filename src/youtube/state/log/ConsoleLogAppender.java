@@ -0,0 +1,44 @@
+/*
+ * File:    ConsoleLogAppender.java
+ * Package: youtube.state.log
+ * Author:  Zachary Gill
+ * Repo:    https://github.com/ZGorlock/YoutubeDownloader
+ */
+
+package youtube.state.log;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.ConsoleAppender;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import youtube.util.LogUtils;
+
+/**
+ * Appends console logging, deferring it when console logging is being buffered on the logging thread.
+ */
+public class ConsoleLogAppender extends ConsoleAppender<ILoggingEvent> {
+    
+    //Logger
+    
+    /**
+     * The logger.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(ConsoleLogAppender.class);
+    
+    
+    //Methods
+    
+    /**
+     * Appends an event to the console, or defers it if console logging is being buffered on the current thread.
+     *
+     * @param event The event to append.
+     */
+    @Override
+    protected void append(ILoggingEvent event) {
+        event.prepareForDeferredProcessing();
+        if (!LogUtils.deferConsoleLog(() -> super.append(event))) {
+            super.append(event);
+        }
+    }
+    
+}
@@ -62,6 +62,7 @@ public class EntityFetcher {
         fetchPlaylistVideos("PLovlAKbQVz6D3nqwNV7XmIAJBlZ_6OmYw", resultEntities);
         
         resultEntities = results.computeIfAbsent("Chapter Test", key -> new ArrayList<>());
+        ApiUtils.fetchVideosData(List.of("Bd1yJ1B-stA", "xUhiNZk0niU", "hUumqcL7f2o", "p602LDNvKq4"));
         fetchVideo("Bd1yJ1B-stA", resultEntities);
         fetchVideo("xUhiNZk0niU", resultEntities);
         fetchVideo("hUumqcL7f2o", resultEntities);
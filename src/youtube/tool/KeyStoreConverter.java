@@ -0,0 +1,56 @@
+/*
+ * File:    KeyStoreConverter.java
+ * Package: youtube.tool
+ * Author:  Zachary Gill
+ * Repo:    https://github.com/ZGorlock/YoutubeDownloader
+ */
+
+package youtube.tool;
+
+import java.io.File;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import youtube.config.Color;
+import youtube.state.KeyStore;
+
+/**
+ * Converts the key store between the text format and the binary format.
+ */
+public class KeyStoreConverter {
+    
+    //Logger
+    
+    /**
+     * The logger.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(KeyStoreConverter.class);
+    
+    
+    //Static Fields
+    
+    /**
+     * A flag indicating whether to convert the text key store to the binary format, or the binary key store to the text format.
+     */
+    private static final boolean toBinary = true;
+    
+    
+    //Main Method
+    
+    /**
+     * Runs the Key Store Converter.
+     *
+     * @param args Arguments to the main method.
+     */
+    public static void main(String[] args) {
+        final File source = toBinary ? KeyStore.KEY_STORE_FILE : KeyStore.KEY_STORE_BINARY_FILE;
+        final File target = toBinary ? KeyStore.KEY_STORE_BINARY_FILE : KeyStore.KEY_STORE_FILE;
+        
+        if (toBinary ? KeyStore.convertToBinary() : KeyStore.convertToText()) {
+            logger.info(Color.good("Successfully converted the key store file: ") + Color.quoteFilePath(source) + Color.good(" to: ") + Color.quoteFilePath(target));
+        } else {
+            logger.error(Color.bad("Failed to convert the key store file: ") + Color.quoteFilePath(source) + Color.bad(" to: ") + Color.quoteFilePath(target));
+        }
+    }
+    
+}
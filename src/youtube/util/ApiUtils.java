@@ -7,25 +7,57 @@
 
 package youtube.util;
 
+import java.io.BufferedReader;
+import java.io.EOFException;
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.SoftReference;
 import java.net.URI;
 import java.net.URLEncoder;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.security.KeyException;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiFunction;
+import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import commons.access.Filesystem;
+import commons.access.Project;
 import commons.lambda.function.checked.CheckedBiFunction;
 import commons.lambda.function.checked.CheckedFunction;
 import commons.lambda.function.unchecked.UncheckedFunction;
@@ -35,15 +67,20 @@ import commons.lambda.stream.mapper.Mappers;
 import commons.object.collection.ListUtility;
 import commons.object.string.StringUtility;
 import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.http.Header;
 import org.apache.http.HttpHeaders;
 import org.apache.http.HttpStatus;
 import org.apache.http.ParseException;
 import org.apache.http.client.HttpResponseException;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpGet;
+import org.apache.http.impl.DefaultConnectionReuseStrategy;
 import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
 import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.apache.http.util.EntityUtils;
+import org.json.simple.parser.ContentHandler;
 import org.json.simple.parser.JSONParser;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -52,6 +89,7 @@ import youtube.channel.config.ChannelConfig;
 import youtube.channel.config.ChannelEntry;
 import youtube.channel.state.ChannelState;
 import youtube.config.Color;
+import youtube.config.Configurator;
 import youtube.entity.Channel;
 import youtube.entity.Playlist;
 import youtube.entity.info.ChannelInfo;
@@ -103,6 +141,11 @@ public final class ApiUtils {
      */
     private static final String REQUEST_BASE = "https://www.googleapis.com/youtube/v3";
     
+    /**
+     * The directory containing the cached responses from the Youtube Data API.
+     */
+    public static final File RESPONSE_CACHE_DIR = new File(Project.DATA_DIR, "response");
+    
     /**
      * The maximum number of times to retry an API call before failing.
      */
@@ -515,6 +558,9 @@ public final class ApiUtils {
             logger.trace(LogUtils.NEWLINE);
             logger.debug(Color.log("Initializing API..."));
             
+            Config.init();
+            ResponseCache.prune();
+            
             return checkKey() &&
                     checkQuota();
         }
@@ -634,6 +680,51 @@ public final class ApiUtils {
         return fetchChannelData(channel.getConfig().getChannelId(), channel.getState());
     }
     
+    /**
+     * Calls the Youtube Data API and fetches a list of Channels, batching the requests.
+     *
+     * @param channelIds   The list of ids of the Channels.
+     * @param channelState The Channel State of the calling Channel.
+     * @return The list of Channel Info.
+     */
+    public static List<ChannelInfo> fetchChannels(List<String> channelIds, ChannelState channelState) {
+        fetchChannelsData(channelIds, channelState);
+        return channelIds.stream()
+                .map(channelId -> fetchChannel(channelId, channelState))
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * Calls the Youtube Data API and fetches a list of Channels, batching the requests.
+     *
+     * @param channelIds The list of ids of the Channels.
+     * @return The list of Channel Info.
+     */
+    public static List<ChannelInfo> fetchChannels(List<String> channelIds) {
+        return fetchChannels(channelIds, null);
+    }
+    
+    /**
+     * Calls the Youtube Data API and fetches the data of a list of Channels, batching the requests.
+     *
+     * @param channelIds   The list of ids of the Channels.
+     * @param channelState The Channel State of the calling Channel.
+     * @return The list of json data of the Channels.
+     */
+    public static List<Map<String, Object>> fetchChannelsData(List<String> channelIds, ChannelState channelState) {
+        return ApiHandler.fetchEntitiesData(ApiEntity.CHANNEL, channelIds, channelState);
+    }
+    
+    /**
+     * Calls the Youtube Data API and fetches the data of a list of Channels, batching the requests.
+     *
+     * @param channelIds The list of ids of the Channels.
+     * @return The list of json data of the Channels.
+     */
+    public static List<Map<String, Object>> fetchChannelsData(List<String> channelIds) {
+        return fetchChannelsData(channelIds, null);
+    }
+    
     /**
      * Calls the Youtube Data API and fetches a Playlist.
      *
@@ -718,6 +809,51 @@ public final class ApiUtils {
         return fetchPlaylistData(channel.getConfig().getPlaylistId(), channel.getState());
     }
     
+    /**
+     * Calls the Youtube Data API and fetches a list of Playlists, batching the requests.
+     *
+     * @param playlistIds  The list of ids of the Playlists.
+     * @param channelState The Channel State of the calling Channel.
+     * @return The list of Playlist Info.
+     */
+    public static List<PlaylistInfo> fetchPlaylists(List<String> playlistIds, ChannelState channelState) {
+        fetchPlaylistsData(playlistIds, channelState);
+        return playlistIds.stream()
+                .map(playlistId -> fetchPlaylist(playlistId, channelState))
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * Calls the Youtube Data API and fetches a list of Playlists, batching the requests.
+     *
+     * @param playlistIds The list of ids of the Playlists.
+     * @return The list of Playlist Info.
+     */
+    public static List<PlaylistInfo> fetchPlaylists(List<String> playlistIds) {
+        return fetchPlaylists(playlistIds, null);
+    }
+    
+    /**
+     * Calls the Youtube Data API and fetches the data of a list of Playlists, batching the requests.
+     *
+     * @param playlistIds  The list of ids of the Playlists.
+     * @param channelState The Channel State of the calling Channel.
+     * @return The list of json data of the Playlists.
+     */
+    public static List<Map<String, Object>> fetchPlaylistsData(List<String> playlistIds, ChannelState channelState) {
+        return ApiHandler.fetchEntitiesData(ApiEntity.PLAYLIST, playlistIds, channelState);
+    }
+    
+    /**
+     * Calls the Youtube Data API and fetches the data of a list of Playlists, batching the requests.
+     *
+     * @param playlistIds The list of ids of the Playlists.
+     * @return The list of json data of the Playlists.
+     */
+    public static List<Map<String, Object>> fetchPlaylistsData(List<String> playlistIds) {
+        return fetchPlaylistsData(playlistIds, null);
+    }
+    
     /**
      * Calls the Youtube Data API and fetches a Video.
      *
@@ -760,6 +896,51 @@ public final class ApiUtils {
         return fetchVideoData(videoId, null);
     }
     
+    /**
+     * Calls the Youtube Data API and fetches a list of Videos, batching the requests.
+     *
+     * @param videoIds     The list of ids of the Videos.
+     * @param channelState The Channel State of the calling Channel.
+     * @return The list of Video Info.
+     */
+    public static List<VideoInfo> fetchVideos(List<String> videoIds, ChannelState channelState) {
+        fetchVideosData(videoIds, channelState);
+        return videoIds.stream()
+                .map(videoId -> fetchVideo(videoId, channelState))
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * Calls the Youtube Data API and fetches a list of Videos, batching the requests.
+     *
+     * @param videoIds The list of ids of the Videos.
+     * @return The list of Video Info.
+     */
+    public static List<VideoInfo> fetchVideos(List<String> videoIds) {
+        return fetchVideos(videoIds, null);
+    }
+    
+    /**
+     * Calls the Youtube Data API and fetches the data of a list of Videos, batching the requests.
+     *
+     * @param videoIds     The list of ids of the Videos.
+     * @param channelState The Channel State of the calling Channel.
+     * @return The list of json data of the Videos.
+     */
+    public static List<Map<String, Object>> fetchVideosData(List<String> videoIds, ChannelState channelState) {
+        return ApiHandler.fetchEntitiesData(ApiEntity.VIDEO, videoIds, channelState);
+    }
+    
+    /**
+     * Calls the Youtube Data API and fetches the data of a list of Videos, batching the requests.
+     *
+     * @param videoIds The list of ids of the Videos.
+     * @return The list of json data of the Videos.
+     */
+    public static List<Map<String, Object>> fetchVideosData(List<String> videoIds) {
+        return fetchVideosData(videoIds, null);
+    }
+    
     /**
      * Calls the Youtube Data API and fetches the Videos of a Playlist.
      *
@@ -835,7 +1016,8 @@ public final class ApiUtils {
         return ApiHandler.fetchEntityListData(Endpoint.PLAYLIST_ITEMS, ApiEntity.VIDEO, playlistId, channelState,
                 new HashMap<>(Map.of("playlistId", playlistId)),
                 e -> Optional.ofNullable((Map<String, Object>) e.get("contentDetails")).map(e2 -> (String) e2.get("videoId")).orElse(null),
-                ids -> ApiHandler.callApi(Endpoint.VIDEO, new HashMap<>(Map.of("id", ids)), channelState));
+                ids -> ApiHandler.callApi(Endpoint.VIDEO, new HashMap<>(Map.of("id", ids)), channelState),
+                playlistId.startsWith("UU"));
     }
     
     /**
@@ -1122,7 +1304,8 @@ public final class ApiUtils {
         return ApiHandler.fetchEntityListData(Endpoint.CHANNEL_PLAYLISTS, ApiEntity.PLAYLIST, channelId, channelState,
                 new HashMap<>(Map.of("channelId", channelId)),
                 e -> (String) e.get("id"),
-                ids -> ApiHandler.callApi(Endpoint.PLAYLIST, new HashMap<>(Map.of("id", ids)), channelState));
+                ids -> ApiHandler.callApi(Endpoint.PLAYLIST, new HashMap<>(Map.of("id", ids)), channelState),
+                false);
     }
     
     /**
@@ -1254,25 +1437,205 @@ public final class ApiUtils {
      * Clears the fetched Entity cache.
      */
     public static void clearCache() {
-        Arrays.stream(ApiEntity.values())
-                .map(EntityHandler.entityCache::get)
-                .forEach(Map::clear);
+        EntityHandler.clear();
+    }
+    
+    /**
+     * Releases the fetched Entities that are only held in the cache for a Channel.
+     *
+     * @param channelState The Channel State of the Channel.
+     */
+    public static void releaseCache(ChannelState channelState) {
+        Optional.ofNullable(channelState).ifPresent(EntityHandler::release);
+    }
+    
+    /**
+     * Determines whether there is quota available for a Channel to call the API.
+     *
+     * @param channelState The Channel State of the Channel.
+     * @return Whether there is quota available for the Channel or not.
+     */
+    public static boolean isQuotaAvailable(ChannelState channelState) {
+        return ApiQuota.getQuotaAvailable(API_KEY_HASH) > ApiHandler.getQuotaFloor(channelState);
     }
     
     
     //Inner Classes
     
+    /**
+     * Holds the API Config.
+     */
+    public static class Config {
+        
+        //Constants
+        
+        /**
+         * The default value of the flag indicating whether to incrementally sync list data from the API or not.
+         */
+        public static final boolean DEFAULT_INCREMENTAL_SYNC = false;
+        
+        /**
+         * The default value of the number of days between full syncs of list data from the API, when syncing incrementally.
+         */
+        public static final Long DEFAULT_DAYS_BETWEEN_FULL_SYNCS = 7L;
+        
+        /**
+         * The default value of the maximum number of Entities of each type to hold in the Entity cache.
+         */
+        public static final Long DEFAULT_ENTITY_CACHE_SIZE = 50000L;
+        
+        /**
+         * The default value of the flag indicating whether to hold the Entity cache with soft references or not.
+         */
+        public static final boolean DEFAULT_SOFT_ENTITY_CACHE = false;
+        
+        /**
+         * The default value of the flag indicating whether to cache the responses from the API between runs or not.
+         */
+        public static final boolean DEFAULT_CACHE_RESPONSES = false;
+        
+        /**
+         * The default value of the amount of the daily quota to hold back for Channels with a raised priority.
+         */
+        public static final Long DEFAULT_QUOTA_RESERVE = 0L;
+        
+        
+        //Static Fields
+        
+        /**
+         * A flag indicating whether to incrementally sync list data from the API or not.
+         */
+        public static boolean incrementalSync = DEFAULT_INCREMENTAL_SYNC;
+        
+        /**
+         * The number of days between full syncs of list data from the API when syncing incrementally, or -1 to never perform a full sync once a snapshot exists.
+         */
+        public static Long daysBetweenFullSyncs = DEFAULT_DAYS_BETWEEN_FULL_SYNCS;
+        
+        /**
+         * The maximum number of Entities of each type to hold in the Entity cache, or -1 to hold an unlimited number.
+         */
+        public static Long entityCacheSize = DEFAULT_ENTITY_CACHE_SIZE;
+        
+        /**
+         * A flag indicating whether to hold the Entity cache with soft references, so that it may be reclaimed when memory is low, or not.
+         */
+        public static boolean softEntityCache = DEFAULT_SOFT_ENTITY_CACHE;
+        
+        /**
+         * A flag indicating whether to cache the responses from the API between runs, and revalidate them with their ETag, or not.
+         */
+        public static boolean cacheResponses = DEFAULT_CACHE_RESPONSES;
+        
+        /**
+         * The amount of the daily quota to hold back for Channels with a raised priority; other Channels are deferred to the next quota day once only this much remains.
+         */
+        public static Long quotaReserve = DEFAULT_QUOTA_RESERVE;
+        
+        
+        //Static Methods
+        
+        /**
+         * Initializes the Config.
+         */
+        private static void init() {
+            incrementalSync = Configurator.getSetting(List.of(
+                            "incrementalSync",
+                            "api.incrementalSync",
+                            "process.incrementalSync"),
+                    DEFAULT_INCREMENTAL_SYNC);
+            daysBetweenFullSyncs = Configurator.getSetting(List.of(
+                            "daysBetweenFullSyncs",
+                            "api.daysBetweenFullSyncs",
+                            "process.daysBetweenFullSyncs"),
+                    DEFAULT_DAYS_BETWEEN_FULL_SYNCS);
+            entityCacheSize = Configurator.getSetting(List.of(
+                            "entityCacheSize",
+                            "api.entityCacheSize",
+                            "process.entityCacheSize"),
+                    DEFAULT_ENTITY_CACHE_SIZE);
+            softEntityCache = Configurator.getSetting(List.of(
+                            "softEntityCache",
+                            "api.softEntityCache",
+                            "process.softEntityCache"),
+                    DEFAULT_SOFT_ENTITY_CACHE);
+            cacheResponses = Configurator.getSetting(List.of(
+                            "cacheResponses",
+                            "api.cacheResponses",
+                            "process.cacheResponses"),
+                    DEFAULT_CACHE_RESPONSES);
+            quotaReserve = Configurator.getSetting(List.of(
+                            "quotaReserve",
+                            "api.quotaReserve",
+                            "process.quotaReserve"),
+                    DEFAULT_QUOTA_RESERVE);
+        }
+        
+    }
+    
     /**
      * Interacts with the Youtube Data API.
      */
     private static class ApiHandler {
         
+        //Constants
+        
+        /**
+         * The maximum number of pooled connections to the Youtube API.
+         */
+        private static final int MAX_CONNECTIONS = 8;
+        
+        /**
+         * The number of seconds after which an idle pooled connection is closed.
+         */
+        private static final long IDLE_CONNECTION_TIMEOUT = 30;
+        
+        /**
+         * The maximum number of pages of Entities to fetch concurrently while listing.
+         */
+        private static final int MAX_CONCURRENT_PAGE_FETCHES = 4;
+        
+        /**
+         * The base number of milliseconds to wait before retrying a failed API call, which is doubled after each retry.
+         */
+        private static final long RETRY_BASE_DELAY = 500L;
+        
+        /**
+         * The maximum number of milliseconds to wait before retrying a failed API call; if the API asks for longer the call is not retried.
+         */
+        private static final long RETRY_MAX_DELAY = 60000L;
+        
+        /**
+         * The error reasons from the Youtube Data API that indicate a temporary rate limit rather than a permanent failure.
+         */
+        private static final Set<String> RETRYABLE_ERROR_REASONS = Set.of("rateLimitExceeded", "userRateLimitExceeded", "backendError", "internalError");
+        
+        
         //Static Fields
         
         /**
-         * The HTTP Client used to interact with the Youtube API.
+         * The HTTP Client used to interact with the Youtube API, backed by a pool of keep-alive connections.
+         */
+        private static final CloseableHttpClient httpClient = HttpClients.custom()
+                .setConnectionManager(createConnectionManager())
+                .setConnectionReuseStrategy(DefaultConnectionReuseStrategy.INSTANCE)
+                .setKeepAliveStrategy(DefaultConnectionKeepAliveStrategy.INSTANCE)
+                .evictIdleConnections(IDLE_CONNECTION_TIMEOUT, TimeUnit.SECONDS)
+                .build();
+        
+        /**
+         * The executor used to fetch pages of Entities while the next page of a list is being requested.
          */
-        private static final CloseableHttpClient httpClient = HttpClients.createDefault();
+        private static final ExecutorService pageFetcher = Executors.newFixedThreadPool(MAX_CONCURRENT_PAGE_FETCHES, runnable -> {
+            final Thread thread = new Thread(runnable, "api-page-fetcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        
+        /**
+         * The lock used when writing to the call log of a Channel.
+         */
+        private static final Object callLogLock = new Object();
         
         
         //Static Methods
@@ -1309,8 +1672,33 @@ public final class ApiUtils {
          * @throws RuntimeException When there is an error fetching or parsing the Entity.
          */
         private static Map<String, Object> fetchEntityData(ApiEntity entityType, String entityId, ChannelState channelState) {
-            return fetchEntityData(entityType, entityId, channelState,
-                    new HashMap<>(Map.of("id", entityId)));
+            return EntityHandler.loadEntityData(entityType, entityId, channelState,
+                    (Function<String, Map<String, Object>>) id -> await(EntityBatcher.request(entityType, id, channelState)));
+        }
+        
+        /**
+         * Calls the Youtube Data API and fetches the json data of a list of Entities.<br>
+         * The uncached Entities are all requested up front, so that they are fetched in batches.
+         *
+         * @param entityType   The Type of the Entities.
+         * @param entityIds    The list of ids of the Entities.
+         * @param channelState The Channel State of the calling Channel.
+         * @return The list of json data of the Entities.
+         * @throws RuntimeException When there is an error fetching or parsing the Entities.
+         */
+        private static List<Map<String, Object>> fetchEntitiesData(ApiEntity entityType, List<String> entityIds, ChannelState channelState) {
+            final Map<String, Future<Map<String, Object>>> requests = entityIds.stream()
+                    .filter(Objects::nonNull).distinct()
+                    .filter(id -> !EntityHandler.isEntityDataCached(entityType, id))
+                    .collect(Collectors.toMap(Function.identity(), id -> EntityBatcher.request(entityType, id, channelState),
+                            (a, b) -> a, LinkedHashMap::new));
+            
+            return entityIds.stream()
+                    .map(entityId -> EntityHandler.loadEntityData(entityType, entityId, channelState,
+                            (Function<String, Map<String, Object>>) id -> Optional.ofNullable(requests.get(id))
+                                    .map(ApiHandler::await)
+                                    .orElseGet(() -> fetchEntityData(entityType, id, channelState))))
+                    .collect(Collectors.toList());
         }
         
         /**
@@ -1338,42 +1726,168 @@ public final class ApiUtils {
          * @param parameters            A map of parameters.
          * @param idExtractor           The function that extracts the id from a response data element.
          * @param entityPageDataFetcher The function that fetches a page of Entity json data from the list of extracted Entity ids.
+         * @param newestFirst           Whether the list is ordered newest first, so that an incremental sync may stop at the first page of known Entities.
          * @return The json data of the list of Entities.
          * @throws RuntimeException When there is an error fetching or parsing the list of Entities.
          */
+        @SuppressWarnings("unchecked")
         public static List<Map<String, Object>> fetchEntityListData(Endpoint endpoint, ApiEntity entityListType, String entityId, ChannelState channelState, Map<String, String> parameters,
                 UncheckedFunction<Map<String, Object>, String> idExtractor,
-                UncheckedFunction<String, String> entityPageDataFetcher) {
+                UncheckedFunction<String, String> entityPageDataFetcher, boolean newestFirst) {
+            final Map<String, List<Map<String, Object>>> parsedPages = new IdentityHashMap<>();
+            final Function<String, List<Map<String, Object>>> pageParser = page ->
+                    parsedPages.computeIfAbsent(page, e -> parseResponse(e, channelState));
+            
             return Optional.of(Optional.ofNullable(
                             loadDataCache(endpoint, channelState))
                     .orElseGet((UncheckedSupplier<List<String>>) () -> {
+                        final SyncIndex syncIndex = newestFirst ? SyncIndex.load(endpoint, channelState) : null;
+                        final List<String> snapshot = Optional.ofNullable(syncIndex)
+                                .map(e -> loadSnapshot(endpoint, channelState)).orElse(null);
+                        final boolean incremental = (snapshot != null);
+                        
+                        final ListCheckpoint checkpoint = ListCheckpoint.open(endpoint, channelState);
+                        final List<String> resumedPages = new ArrayList<>();
+                        
+                        final List<Future<String>> pageFetches = new ArrayList<>();
                         final List<String> pages = new ArrayList<>();
-                        do {
-                            Optional.of(endpoint)
-                                    .map(Mappers.forEach(e -> logApi(channelState, endpoint.getName(), ("Fetching " + endpoint.getName() + " list for: [" + entityId + "] (Page " + (pages.size() + 1) + ")"))))
-                                    .map((UncheckedFunction<Endpoint, String>) apiEndpoint ->
-                                            callApi(apiEndpoint, parameters, channelState))
-                                    .map(response -> parseResponse(response, channelState).stream()
-                                            .map(idExtractor)
-                                            .filter(id -> !StringUtility.isNullOrBlank(id))
-                                            .collect(Collectors.joining(",")))
-                                    .map(Mappers.forEach(e -> logApi(channelState, endpoint.getName(), ("Fetching " + endpoint.getName() + " entities for: [" + entityId + "] (Page " + (pages.size() + 1) + ")"))))
-                                    .map(entityPageDataFetcher)
-                                    .ifPresentOrElse(pages::add, () -> pages.add(null));
-                        } while (parameters.get("pageToken") != null);
+                        final List<String> listedIds = new ArrayList<>();
+                        boolean caughtUp = false;
+                        boolean listing = true;
+                        int pageCount = 0;
+                        
+                        if ((checkpoint != null) && checkpoint.isResumed()) {
+                            logApi(channelState, endpoint.getName(), ("Resuming " + endpoint.getName() + " list for: [" + entityId + "] from checkpoint (Page " + (checkpoint.getListPageCount() + 1) + ")"));
+                            resumedPages.addAll(checkpoint.getPages());
+                            listedIds.addAll(checkpoint.getListedIds());
+                            pageCount = checkpoint.getListPageCount();
+                            Optional.ofNullable(checkpoint.getPageToken()).ifPresent(pageToken -> parameters.put("pageToken", pageToken));
+                            listing = (checkpoint.getPageToken() != null);
+                        }
+                        
+                        try {
+                            while (listing) {
+                                final int page = ++pageCount;
+                                logApi(channelState, endpoint.getName(), ("Fetching " + endpoint.getName() + " list for: [" + entityId + "] (Page " + page + ")"));
+                                
+                                final List<String> ids = Optional.ofNullable(callApi(endpoint, parameters, channelState))
+                                        .map(response -> parseResponse(response, channelState).stream()
+                                                .map(idExtractor)
+                                                .filter(id -> !StringUtility.isNullOrBlank(id))
+                                                .collect(Collectors.toList()))
+                                        .orElseGet(ArrayList::new);
+                                listedIds.addAll(ids);
+                                
+                                final List<String> fetchIds = !incremental ? ids : ids.stream()
+                                        .filter(id -> !syncIndex.isKnown(id))
+                                        .collect(Collectors.toList());
+                                
+                                caughtUp = incremental && fetchIds.isEmpty();
+                                if (!caughtUp) {
+                                    logApi(channelState, endpoint.getName(), ("Fetching " + endpoint.getName() + " entities for: [" + entityId + "] (Page " + page + ")"));
+                                    Optional.ofNullable(checkpoint).ifPresent(e -> e.listed(parameters.get("pageToken"), ids));
+                                    final Consumer<Runnable> consoleLogBuffer = LogUtils.getConsoleLogBuffer();
+                                    pageFetches.add(pageFetcher.submit(() -> LogUtils.callWithConsoleLogBuffer(consoleLogBuffer,
+                                            () -> entityPageDataFetcher.apply(String.join(",", fetchIds)))));
+                                }
+                                
+                                drainPages(pageFetches, pages, checkpoint, false);
+                                listing = !caughtUp && (parameters.get("pageToken") != null);
+                            }
+                            
+                            drainPages(pageFetches, pages, checkpoint, true);
+                            pages.addAll(0, resumedPages);
+                        } catch (Exception e) {
+                            pageFetches.forEach(pageFetch -> pageFetch.cancel(true));
+                            throw e;
+                        } finally {
+                            parameters.remove("pageToken");
+                        }
+                        
+                        final SyncIndex updatedSyncIndex = incremental ? syncIndex : new SyncIndex();
+                        updatedSyncIndex.update(listedIds, pages.stream()
+                                .filter(Objects::nonNull)
+                                .flatMap(data -> pageParser.apply(data).stream())
+                                .filter(entityData -> entityData.get("id") instanceof String)
+                                .collect(Collectors.toMap(
+                                        entityData -> (String) entityData.get("id"),
+                                        entityData -> Optional.ofNullable((Map<String, Object>) entityData.get("snippet"))
+                                                .map(snippet -> (String) snippet.get("publishedAt")).orElse(""),
+                                        (a, b) -> a)));
                         
-                        saveDataCache(pages, endpoint, channelState);
+                        if (incremental) {
+                            logApi(channelState, endpoint.getName(), ("Merging " + pages.size() + " new page(s) into local data snapshot for: [" + entityId + "]"));
+                            pages.addAll(snapshot);
+                        }
+                        
+                        saveDataCache((incremental ? snapshot : List.of()), checkpoint, endpoint, channelState);
+                        if (newestFirst) {
+                            SyncIndex.save(updatedSyncIndex, endpoint, channelState);
+                        }
                         return pages;
                     })
             ).map(pages -> pages.stream()
                     .filter(Objects::nonNull)
                     .map(Mappers.forEach(e -> logApi(channelState, endpoint.getName(), ("Parsing " + endpoint.getName() + " entities for: [" + entityId + "] (Page " + (pages.indexOf(e) + 1) + ")"))))
-                    .flatMap(data -> parseResponse(data, channelState).stream())
+                    .flatMap(data -> pageParser.apply(data).stream())
                     .map(entityData -> EntityHandler.loadEntityData(entityListType, entityData, channelState))
                     .collect(Collectors.toList())
             ).orElse(List.of());
         }
         
+        /**
+         * Collects the pages of Entities that have finished being fetched while listing, in page order, and records them in the list checkpoint.
+         *
+         * @param pageFetches The list of page fetches, in page order.
+         * @param pages       The list of pages of Entity json data collected so far.
+         * @param checkpoint  The list checkpoint to record the collected pages in, or null.
+         * @param wait        Whether to wait for all of the remaining pages, or only collect the pages that are already done.
+         * @throws RuntimeException When there is an error fetching a page of Entities.
+         */
+        private static void drainPages(List<Future<String>> pageFetches, List<String> pages, ListCheckpoint checkpoint, boolean wait) {
+            for (int i = pages.size(); i < pageFetches.size(); i++) {
+                if (!wait && !pageFetches.get(i).isDone()) {
+                    break;
+                }
+                final String page = Optional.ofNullable(await(pageFetches.get(i)))
+                        .filter(e -> !StringUtility.isNullOrBlank(e))
+                        .orElse(null);
+                Optional.ofNullable(checkpoint).ifPresent(e -> e.stored(page));
+                pages.add(page);
+            }
+        }
+        
+        /**
+         * Waits for the result of an asynchronous API task.
+         *
+         * @param future The future result of the task.
+         * @param <T>    The type of the result.
+         * @return The result of the task.
+         * @throws RuntimeException When the task failed or the wait was interrupted.
+         */
+        private static <T> T await(Future<T> future) {
+            try {
+                return future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e);
+            } catch (ExecutionException e) {
+                throw (e.getCause() instanceof RuntimeException) ? (RuntimeException) e.getCause() : new RuntimeException(e.getCause());
+            }
+        }
+        
+        /**
+         * Creates the pooled connection manager used by the HTTP Client.
+         *
+         * @return The pooled connection manager.
+         */
+        private static PoolingHttpClientConnectionManager createConnectionManager() {
+            final PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+            connectionManager.setMaxTotal(MAX_CONNECTIONS);
+            connectionManager.setDefaultMaxPerRoute(MAX_CONNECTIONS);
+            return connectionManager;
+        }
+        
         /**
          * Calls the Youtube Data API and fetches the json data of a list of Entities.
          *
@@ -1391,7 +1905,7 @@ public final class ApiUtils {
                 UncheckedFunction<String, String> entityPageDataFetcher) {
             return fetchEntityListData(endpoint, entityListType, entityId, channelState,
                     new HashMap<>(Map.of("id", entityId)),
-                    idExtractor, entityPageDataFetcher);
+                    idExtractor, entityPageDataFetcher, false);
         }
         
         /**
@@ -1419,32 +1933,56 @@ public final class ApiUtils {
          */
         private static List<String> loadDataCache(Endpoint endpoint, ChannelState channelState) {
             return Optional.ofNullable(channelState).map(state -> state.getDataFile(endpoint.getName()))
-                    .filter(File::exists).filter(file -> !Filesystem.isEmpty(file))
-                    .map(Mappers.forEach(e -> logApi(channelState, endpoint.getName(), ("Loading local data cache: " + e.getAbsolutePath() + "'"))))
-                    .map(Filesystem::readFileToString)
-                    .filter(data -> !StringUtility.isNullOrBlank(data))
-                    .map(data -> data.split("(?:^|\r?\n)[\\[,\\]](?:\r?\n|$)"))
-                    .map(dataPages -> Arrays.stream(dataPages)
-                            .filter(dataPage -> !StringUtility.isNullOrBlank(dataPage))
-                            .collect(Collectors.toList()))
-                    .filter(dataPages -> !ListUtility.isNullOrEmpty(dataPages))
+                    .map(dataFile -> readDataCache(dataFile, endpoint, channelState))
+                    .orElse(null);
+        }
+        
+        /**
+         * Loads the API data snapshot from a previous run, if present.
+         *
+         * @param endpoint     The API Endpoint.
+         * @param channelState The Channel State of the calling Channel.
+         * @return The list of API data pages, or null if it could not be loaded.
+         */
+        private static List<String> loadSnapshot(Endpoint endpoint, ChannelState channelState) {
+            return Optional.ofNullable(channelState).map(state -> state.getSnapshotFile(endpoint.getName()))
+                    .map(snapshotFile -> readDataCache(snapshotFile, endpoint, channelState))
                     .orElse(null);
         }
         
         /**
-         * Saves an API data cache.
+         * Reads an API data cache file, if present.
          *
-         * @param dataPages    The list of API data pages.
+         * @param dataFile     The API data cache file.
          * @param endpoint     The API Endpoint.
          * @param channelState The Channel State of the calling Channel.
+         * @return The list of API data pages, or null if it could not be read.
          */
-        private static void saveDataCache(List<String> dataPages, Endpoint endpoint, ChannelState channelState) {
+        private static List<String> readDataCache(File dataFile, Endpoint endpoint, ChannelState channelState) {
+            return Optional.ofNullable(dataFile)
+                    .filter(File::exists).filter(file -> !Filesystem.isEmpty(file))
+                    .map(Mappers.forEach(e -> logApi(channelState, endpoint.getName(), ("Loading local data cache: '" + e.getAbsolutePath() + "'"))))
+                    .map(PageStore::open)
+                    .map(PageStore::readAll)
+                    .filter(dataPages -> !ListUtility.isNullOrEmpty(dataPages))
+                    .orElse(null);
+        }
+        
+        /**
+         * Saves an API data cache.<br>
+         * The fetched pages have already been stored by the list checkpoint as they arrived, so only the remaining pages are appended
+         * before the stored pages are moved into place as the data cache.
+         *
+         * @param remainingPages The list of API data pages that have not been stored yet.
+         * @param checkpoint     The list checkpoint holding the fetched API data pages.
+         * @param endpoint       The API Endpoint.
+         * @param channelState   The Channel State of the calling Channel.
+         */
+        private static void saveDataCache(List<String> remainingPages, ListCheckpoint checkpoint, Endpoint endpoint, ChannelState channelState) {
             Optional.ofNullable(channelState).map(state -> state.getDataFile(endpoint.getName()))
+                    .filter(dataFile -> (checkpoint != null))
                     .map(Mappers.forEach(e -> logApi(channelState, endpoint.getName(), ("Saving local data cache: '" + e.getAbsolutePath() + "'"))))
-                    .ifPresent(dataFile -> Filesystem.writeStringToFile(dataFile,
-                            dataPages.stream().collect(Collectors.joining(
-                                    (System.lineSeparator() + "," + System.lineSeparator()),
-                                    ("[" + System.lineSeparator()), (System.lineSeparator() + "]")))));
+                    .ifPresent(dataFile -> checkpoint.complete(remainingPages, dataFile));
         }
         
         /**
@@ -1456,33 +1994,164 @@ public final class ApiUtils {
          * @return The response from the API call.
          * @throws Exception When there is an error calling the API.
          */
-        @SuppressWarnings("unchecked")
         public static String callApi(Endpoint endpoint, Map<String, String> parameters, ChannelState channelState) throws Exception {
             final AtomicReference<String> response = new AtomicReference<>(null);
             final AtomicBoolean error = new AtomicBoolean(false);
+            final AtomicBoolean notModified = new AtomicBoolean(false);
+            
+            final Map<String, String> requestParameters = new HashMap<>(parameters);
+            final HttpGet request = buildApiRequest(endpoint, requestParameters);
+            
+            final File cacheFile = ResponseCache.getCacheFile(endpoint, requestParameters);
+            final Map.Entry<String, String> cached = ResponseCache.load(cacheFile);
+            Optional.ofNullable(cached).ifPresent(e -> request.addHeader(HttpHeaders.IF_NONE_MATCH, e.getKey()));
             
             for (int retry = 0; retry <= MAX_RETRIES; retry++) {
                 logApi(channelState, endpoint.getName(), ("Calling " + endpoint.getName() + " API... " + ((retry > 0) ? (" (Retry #" + retry + ")") : "")));
+                Stats.totalApiRetries.add((retry > 0) ? 1 : 0);
                 
-                final HttpGet request = buildApiRequest(endpoint, new HashMap<>(parameters));
+                reserveQuota(endpoint, channelState);
                 
+                boolean retryable;
+                Long retryAfter = null;
                 try (CloseableHttpResponse httpResponse = httpClient.execute(request)) {
-                    response.set(EntityUtils.toString(httpResponse.getEntity()).strip());
-                    error.set(httpResponse.getStatusLine().getStatusCode() != HttpStatus.SC_OK);
+                    final int status = httpResponse.getStatusLine().getStatusCode();
+                    notModified.set((cached != null) && (status == HttpStatus.SC_NOT_MODIFIED));
+                    response.set(notModified.get() ? cached.getValue() : EntityUtils.toString(httpResponse.getEntity()).strip());
+                    error.set(!notModified.get() && (status != HttpStatus.SC_OK));
+                    
+                    if (notModified.get()) {
+                        ResponseCache.touch(cacheFile);
+                    } else if (!error.get()) {
+                        Optional.ofNullable(httpResponse.getFirstHeader(HttpHeaders.ETAG)).map(Header::getValue)
+                                .ifPresent(etag -> ResponseCache.save(cacheFile, etag, response.get()));
+                    }
+                    
+                    retryable = error.get() && isRetryable(status, response.get());
+                    retryAfter = Optional.ofNullable(httpResponse.getFirstHeader(HttpHeaders.RETRY_AFTER))
+                            .map(Header::getValue).map(ApiHandler::parseRetryAfter).orElse(null);
+                } catch (IOException e) {
+                    if (retry == MAX_RETRIES) {
+                        throw e;
+                    }
+                    response.set("");
+                    error.set(true);
+                    retryable = true;
                 } finally {
-                    logApiCall(endpoint, request.getURI(), response.get(), error.get(), channelState);
+                    logApiCall(endpoint, request.getURI(), response.get(), error.get(), notModified.get(), channelState);
+                    ApiQuota.releaseQuota(API_KEY_HASH, endpoint.getQuotaCost());
                 }
                 
                 if (!error.get()) {
-                    parameters.put("pageToken", Optional.ofNullable(response.get())
-                            .map((CheckedFunction<String, Map<String, Object>>) e -> (Map<String, Object>) new JSONParser().parse(response.get()))
-                            .map(e -> (String) e.get("nextPageToken")).orElse(null));
+                    parameters.put("pageToken", PageTokenReader.read(response.get()));
                     return response.get();
                 }
+                
+                if (!retryable || (retry == MAX_RETRIES) || ((retryAfter != null) && (retryAfter > RETRY_MAX_DELAY))) {
+                    break;
+                }
+                Thread.sleep(getRetryDelay(retry, retryAfter));
             }
             return handleResponse(response.get(), channelState);
         }
         
+        /**
+         * Reserves the quota for an API call before it is made.<br>
+         * The reservation does not block other API calls, and fails once the quota held back for Channels with a raised priority would be used.
+         *
+         * @param endpoint     The API Endpoint.
+         * @param channelState The Channel State of the calling Channel.
+         * @throws RuntimeException When the quota available to the calling Channel has been exhausted.
+         */
+        private static void reserveQuota(Endpoint endpoint, ChannelState channelState) {
+            if (ApiQuota.reserveQuota(API_KEY_HASH, endpoint.getQuotaCost(), getQuotaFloor(channelState))) {
+                return;
+            }
+            
+            logger.warn(Color.bad("The quota available") +
+                    Optional.ofNullable(channelState).map(Color::channelName).map(e -> (Color.bad(" to Channel: ") + e)).orElse("") +
+                    Color.bad(" has been exhausted for today"));
+            Optional.ofNullable(channelState).map(ChannelState::getErrorFlag).ifPresent(errorFlag -> errorFlag.set(true));
+            throw new RuntimeException(new HttpResponseException(HttpStatus.SC_FORBIDDEN, "quotaExceeded"));
+        }
+        
+        /**
+         * Returns the amount of quota that must remain available after an API call made by a Channel.
+         *
+         * @param channelState The Channel State of the calling Channel.
+         * @return The amount of quota that must remain available.
+         */
+        private static int getQuotaFloor(ChannelState channelState) {
+            return Optional.ofNullable(channelState)
+                    .filter(e -> (e.getPriority() <= ChannelEntry.DEFAULT_PRIORITY))
+                    .map(e -> Config.quotaReserve.intValue())
+                    .map(e -> Math.max(0, e))
+                    .orElse(0);
+        }
+        
+        /**
+         * Determines whether a failed API call should be retried.<br>
+         * Server errors, timeouts, and rate limits are temporary, but other client errors, such as an exhausted quota, a missing resource,
+         * or an invalid request, will fail again and are not retried.
+         *
+         * @param status   The HTTP status code of the response.
+         * @param response The response.
+         * @return Whether the API call should be retried or not.
+         */
+        @SuppressWarnings("unchecked")
+        private static boolean isRetryable(int status, String response) {
+            switch (status) {
+                case HttpStatus.SC_REQUEST_TIMEOUT:
+                case 429:
+                    return true;
+                case HttpStatus.SC_FORBIDDEN:
+                    return Optional.ofNullable(response)
+                            .map((CheckedFunction<String, Map<String, Object>>) e -> (Map<String, Object>) new JSONParser().parse(e))
+                            .map(e -> (Map<String, Object>) e.get("error"))
+                            .map(e -> (List<Map<String, Object>>) e.get("errors"))
+                            .map(e -> ListUtility.getOrNull(e, 0)).map(e -> (String) e.get("reason"))
+                            .map(RETRYABLE_ERROR_REASONS::contains)
+                            .orElse(false);
+                default:
+                    return (status >= HttpStatus.SC_INTERNAL_SERVER_ERROR);
+            }
+        }
+        
+        /**
+         * Parses the value of a Retry-After header.
+         *
+         * @param retryAfter The value of the Retry-After header, either a number of seconds or an HTTP date.
+         * @return The number of milliseconds to wait before retrying, or null if the value could not be parsed.
+         */
+        private static Long parseRetryAfter(String retryAfter) {
+            return Optional.ofNullable(retryAfter).map(String::strip)
+                    .map(value -> value.matches("^\\d+$") ?
+                                  Optional.of(value)
+                                          .map((CheckedFunction<String, Long>) Long::parseLong)
+                                          .map(TimeUnit.SECONDS::toMillis)
+                                          .orElse(Long.MAX_VALUE) :
+                                  Optional.of(value)
+                                          .map((CheckedFunction<String, ZonedDateTime>) e -> ZonedDateTime.parse(e, DateTimeFormatter.RFC_1123_DATE_TIME))
+                                          .map(e -> Math.max(0L, (e.toInstant().toEpochMilli() - System.currentTimeMillis())))
+                                          .orElse(null))
+                    .orElse(null);
+        }
+        
+        /**
+         * Returns the number of milliseconds to wait before retrying a failed API call.<br>
+         * The delay is the Retry-After value requested by the API if present, otherwise an exponential backoff with full jitter; it never exceeds the maximum retry delay.
+         *
+         * @param retry      The number of the retry that failed.
+         * @param retryAfter The number of milliseconds requested by the API, or null.
+         * @return The number of milliseconds to wait.
+         */
+        private static long getRetryDelay(int retry, Long retryAfter) {
+            return Optional.ofNullable(retryAfter)
+                    .map(e -> Math.min(RETRY_MAX_DELAY, e))
+                    .orElseGet(() -> ThreadLocalRandom.current().nextLong(
+                            Math.min(RETRY_MAX_DELAY, (RETRY_BASE_DELAY << Math.min(retry, 16))) + 1));
+        }
+        
         /**
          * Logs a call to the Youtube Data API.
          *
@@ -1490,21 +2159,25 @@ public final class ApiUtils {
          * @param request      The uri of the API request.
          * @param response     The API response.
          * @param error        Whether the API response was an error.
+         * @param notModified  Whether the API response was served from the response cache after revalidation.
          * @param channelState The Channel State of the calling Channel.
          */
-        private static void logApiCall(Endpoint endpoint, URI request, String response, boolean error, ChannelState channelState) {
+        private static void logApiCall(Endpoint endpoint, URI request, String response, boolean error, boolean notModified, ChannelState channelState) {
             final String log = formatLog(channelState, endpoint.getName(),
-                    (response.length() + " B  " + (error ? "-X" : "->") + "  " + request));
+                    (Optional.ofNullable(response).map(String::length).orElse(0) + " B  " + (error ? "-X" : notModified ? "=>" : "->") + "  " + request));
             
             LogUtils.log(logger, (error ? LogUtils.LogLevel.WARN : LogUtils.LogLevel.DEBUG), log);
-            Optional.ofNullable(channelState).map(ChannelState::getCallLogFile)
-                    .ifPresent(callLog -> Filesystem.writeStringToFile(callLog,
-                            (log.replaceAll("^.+:: ", (DateUtils.timestamp() + " - ")) + System.lineSeparator()), true));
+            synchronized (callLogLock) {
+                Optional.ofNullable(channelState).map(ChannelState::getCallLogFile)
+                        .ifPresent(callLog -> Filesystem.writeStringToFile(callLog,
+                                (log.replaceAll("^.+:: ", (DateUtils.timestamp() + " - ")) + System.lineSeparator()), true));
+            }
             
-            Stats.totalApiCalls.incrementAndGet();
-            Stats.totalApiEntityCalls.addAndGet((endpoint.getCategory() == EndpointCategory.ENTITY) ? 1 : 0);
-            Stats.totalApiDataCalls.addAndGet((endpoint.getCategory() == EndpointCategory.DATA) ? 1 : 0);
-            Stats.totalApiFailures.addAndGet(error ? 1 : 0);
+            Stats.totalApiCalls.increment();
+            Stats.totalApiEntityCalls.add((endpoint.getCategory() == EndpointCategory.ENTITY) ? 1 : 0);
+            Stats.totalApiDataCalls.add((endpoint.getCategory() == EndpointCategory.DATA) ? 1 : 0);
+            Stats.totalApiFailures.add(error ? 1 : 0);
+            Stats.totalApiCacheHits.add(notModified ? 1 : 0);
             
             ApiQuota.registerApiCall(API_KEY_HASH, endpoint.getQuotaCost());
         }
@@ -1625,16 +2298,1034 @@ public final class ApiUtils {
     }
     
     /**
-     * Handles Entity loading and caching.
+     * Reads the token of the next page from a response from the Youtube Data API, without parsing the rest of the response.
      */
-    private static class EntityHandler {
+    private static class PageTokenReader implements ContentHandler {
         
         //Constants
         
         /**
-         * A flag indicating whether or not to log cache interactions by the Entity Handler.
+         * The key of the token of the next page in a response.
          */
-        private static final boolean LOG_CACHE_INTERACTIONS = false;
+        private static final String NEXT_PAGE_TOKEN_KEY = "nextPageToken";
+        
+        
+        //Fields
+        
+        /**
+         * The current nesting depth within the response.
+         */
+        private int depth = 0;
+        
+        /**
+         * A flag indicating whether the reader is positioned at the value of the token of the next page or not.
+         */
+        private boolean atToken = false;
+        
+        /**
+         * The token of the next page, or null if there is no next page.
+         */
+        private String pageToken = null;
+        
+        
+        //Methods
+        
+        /**
+         * Starts reading the response.
+         */
+        @Override
+        public void startJSON() {
+        }
+        
+        /**
+         * Finishes reading the response.
+         */
+        @Override
+        public void endJSON() {
+        }
+        
+        /**
+         * Enters an object in the response.
+         *
+         * @return Whether to continue reading or not.
+         */
+        @Override
+        public boolean startObject() {
+            depth++;
+            return true;
+        }
+        
+        /**
+         * Leaves an object in the response.
+         *
+         * @return Whether to continue reading or not.
+         */
+        @Override
+        public boolean endObject() {
+            depth--;
+            return true;
+        }
+        
+        /**
+         * Enters an entry of an object in the response.
+         *
+         * @param key The key of the entry.
+         * @return Whether to continue reading or not.
+         */
+        @Override
+        public boolean startObjectEntry(String key) {
+            atToken = (depth == 1) && NEXT_PAGE_TOKEN_KEY.equals(key);
+            return true;
+        }
+        
+        /**
+         * Leaves an entry of an object in the response.
+         *
+         * @return Whether to continue reading or not.
+         */
+        @Override
+        public boolean endObjectEntry() {
+            atToken = false;
+            return true;
+        }
+        
+        /**
+         * Enters an array in the response.
+         *
+         * @return Whether to continue reading or not.
+         */
+        @Override
+        public boolean startArray() {
+            depth++;
+            return true;
+        }
+        
+        /**
+         * Leaves an array in the response.
+         *
+         * @return Whether to continue reading or not.
+         */
+        @Override
+        public boolean endArray() {
+            depth--;
+            return true;
+        }
+        
+        /**
+         * Reads a primitive value in the response.<br>
+         * Reading stops as soon as the token of the next page has been found.
+         *
+         * @param value The value.
+         * @return Whether to continue reading or not.
+         */
+        @Override
+        public boolean primitive(Object value) {
+            if (atToken) {
+                pageToken = (value instanceof String) ? (String) value : null;
+                return false;
+            }
+            return true;
+        }
+        
+        
+        //Static Methods
+        
+        /**
+         * Reads the token of the next page from a response from the Youtube Data API.
+         *
+         * @param response The response.
+         * @return The token of the next page, or null if there is no next page or the response could not be read.
+         */
+        public static String read(String response) {
+            return Optional.ofNullable(response)
+                    .map((CheckedFunction<String, String>) e -> {
+                        final PageTokenReader reader = new PageTokenReader();
+                        new JSONParser().parse(e, reader);
+                        return reader.pageToken;
+                    })
+                    .orElse(null);
+        }
+        
+    }
+    
+    /**
+     * Coalesces lookups of single Entities into batched calls to the Youtube Data API.<br>
+     * Pending lookups of the same Type for the same Channel are sent together once the batch is full or the batch window has passed,
+     * and the results are fanned out to each of the callers.
+     */
+    private static class EntityBatcher {
+        
+        //Constants
+        
+        /**
+         * The maximum number of Entity ids to send in a single API call.
+         */
+        private static final int MAX_BATCH_SIZE = MAX_RESULTS_PER_PAGE;
+        
+        /**
+         * The number of milliseconds to wait for more lookups before sending a batch.
+         */
+        private static final long BATCH_WINDOW = 20;
+        
+        
+        //Static Fields
+        
+        /**
+         * The map of pending batches, by Entity Type and Channel State.
+         */
+        private static final Map<Map.Entry<ApiEntity, ChannelState>, Batch> pending = new HashMap<>();
+        
+        /**
+         * The executor used to send batches once their batch window has passed.
+         */
+        private static final ScheduledExecutorService batchSender = Executors.newScheduledThreadPool(2, runnable -> {
+            final Thread thread = new Thread(runnable, "api-batch-sender");
+            thread.setDaemon(true);
+            return thread;
+        });
+        
+        
+        //Static Methods
+        
+        /**
+         * Requests the json data of an Entity, to be fetched in a batch.<br>
+         * If the request fills the batch, the batch is sent immediately on the calling thread.
+         *
+         * @param entityType   The Type of the Entity.
+         * @param entityId     The id of the Entity.
+         * @param channelState The Channel State of the calling Channel.
+         * @return The future json data of the Entity.
+         */
+        private static Future<Map<String, Object>> request(ApiEntity entityType, String entityId, ChannelState channelState) {
+            final Map.Entry<ApiEntity, ChannelState> key = new AbstractMap.SimpleImmutableEntry<>(entityType, channelState);
+            final CompletableFuture<Map<String, Object>> result;
+            Batch fullBatch = null;
+            
+            synchronized (pending) {
+                final Batch batch = pending.computeIfAbsent(key, batchKey -> {
+                    final Batch newBatch = new Batch(entityType, channelState);
+                    batchSender.schedule(() -> send(batchKey, newBatch), BATCH_WINDOW, TimeUnit.MILLISECONDS);
+                    return newBatch;
+                });
+                result = batch.requests.computeIfAbsent(entityId, id -> new CompletableFuture<>());
+                Optional.ofNullable(LogUtils.getConsoleLogBuffer()).ifPresent(buffer -> batch.consoleLogBuffer = buffer);
+                
+                if (batch.requests.size() >= MAX_BATCH_SIZE) {
+                    pending.remove(key);
+                    fullBatch = batch;
+                }
+            }
+            
+            Optional.ofNullable(fullBatch).ifPresent(batch -> send(key, batch));
+            return result;
+        }
+        
+        /**
+         * Sends a batch of Entity lookups to the Youtube Data API and completes the lookups with the results.
+         *
+         * @param key   The key of the batch.
+         * @param batch The batch.
+         */
+        private static void send(Map.Entry<ApiEntity, ChannelState> key, Batch batch) {
+            synchronized (pending) {
+                pending.remove(key, batch);
+                if (batch.sent) {
+                    return;
+                }
+                batch.sent = true;
+            }
+            
+            final Endpoint endpoint = batch.entityType.getEndpoint();
+            try {
+                final Map<String, Map<String, Object>> results = LogUtils.callWithConsoleLogBuffer(batch.consoleLogBuffer, () -> {
+                    logApi(batch.channelState, endpoint.getName(), ("Fetching " + batch.requests.size() + " " + batch.entityType.getName() + " data for: [" + String.join(",", batch.requests.keySet()) + "]"));
+                    return ApiHandler.parseResponse(
+                                    ApiHandler.callApi(endpoint, new HashMap<>(Map.of("id", String.join(",", batch.requests.keySet()))), batch.channelState),
+                                    batch.channelState).stream()
+                            .filter(entityData -> entityData.get("id") instanceof String)
+                            .collect(Collectors.toMap(entityData -> (String) entityData.get("id"), Function.identity(), (a, b) -> a));
+                });
+                
+                batch.requests.forEach((id, request) -> request.complete(results.getOrDefault(id, Map.of())));
+            } catch (Throwable e) {
+                batch.requests.values().forEach(request -> request.completeExceptionally(e));
+            }
+        }
+        
+        
+        //Inner Classes
+        
+        /**
+         * Holds a batch of Entity lookups.
+         */
+        private static class Batch {
+            
+            //Fields
+            
+            /**
+             * The Type of the Entities in the batch.
+             */
+            private final ApiEntity entityType;
+            
+            /**
+             * The Channel State of the calling Channel.
+             */
+            private final ChannelState channelState;
+            
+            /**
+             * The map of pending lookups in the batch, by Entity id.
+             */
+            private final Map<String, CompletableFuture<Map<String, Object>>> requests;
+            
+            /**
+             * A flag indicating whether the batch has been sent or not.
+             */
+            private boolean sent;
+            
+            /**
+             * The buffer that the console log entries of the batch are deferred to, taken from the threads that requested the lookups, or null.
+             */
+            private Consumer<Runnable> consoleLogBuffer;
+            
+            
+            //Constructors
+            
+            /**
+             * Creates a batch of Entity lookups.
+             *
+             * @param entityType   The Type of the Entities in the batch.
+             * @param channelState The Channel State of the calling Channel.
+             */
+            private Batch(ApiEntity entityType, ChannelState channelState) {
+                this.entityType = entityType;
+                this.channelState = channelState;
+                this.requests = new LinkedHashMap<>();
+                this.sent = false;
+                this.consoleLogBuffer = null;
+            }
+            
+        }
+        
+    }
+    
+    /**
+     * Tracks the ids listed by an API list Endpoint for a Channel, so that later fetches can stop once they reach known data.
+     */
+    private static class SyncIndex {
+        
+        //Constants
+        
+        /**
+         * The prefix of the line in a sync index file that stores the time of the last full sync.
+         */
+        private static final String LAST_FULL_SYNC_PREFIX = "#lastFullSync=";
+        
+        /**
+         * The separator between the id and publish date in a sync index file.
+         */
+        private static final String SEPARATOR = "|";
+        
+        
+        //Fields
+        
+        /**
+         * The time of the last full sync.
+         */
+        private final long lastFullSync;
+        
+        /**
+         * The map of known ids to their publish dates, newest first.
+         */
+        private final Map<String, String> entries = new LinkedHashMap<>();
+        
+        
+        //Constructors
+        
+        /**
+         * Creates a Sync Index.
+         *
+         * @param lastFullSync The time of the last full sync.
+         */
+        private SyncIndex(long lastFullSync) {
+            this.lastFullSync = lastFullSync;
+        }
+        
+        /**
+         * Creates a Sync Index for a full sync.
+         */
+        private SyncIndex() {
+            this(System.currentTimeMillis());
+        }
+        
+        
+        //Methods
+        
+        /**
+         * Returns whether an id is known to the Sync Index.
+         *
+         * @param id The id.
+         * @return Whether the id is known to the Sync Index.
+         */
+        public boolean isKnown(String id) {
+            return entries.containsKey(id);
+        }
+        
+        /**
+         * Updates the Sync Index with the ids listed by a fetch, placing them ahead of the existing entries.
+         *
+         * @param ids          The list of listed ids.
+         * @param publishDates The map of publish dates for the fetched ids.
+         */
+        public void update(List<String> ids, Map<String, String> publishDates) {
+            final Map<String, String> updated = new LinkedHashMap<>();
+            ids.forEach(id -> updated.put(id, publishDates.getOrDefault(id, entries.getOrDefault(id, ""))));
+            entries.forEach(updated::putIfAbsent);
+            
+            entries.clear();
+            entries.putAll(updated);
+        }
+        
+        /**
+         * Returns whether the Sync Index is due for a full sync.
+         *
+         * @return Whether the Sync Index is due for a full sync.
+         */
+        public boolean isExpired() {
+            final long days = Optional.ofNullable(Config.daysBetweenFullSyncs).orElse(Config.DEFAULT_DAYS_BETWEEN_FULL_SYNCS);
+            return (days >= 0) && ((System.currentTimeMillis() - lastFullSync) >= TimeUnit.DAYS.toMillis(days));
+        }
+        
+        
+        //Static Methods
+        
+        /**
+         * Loads the Sync Index of an API Endpoint for a Channel.
+         *
+         * @param endpoint     The API Endpoint.
+         * @param channelState The Channel State of the calling Channel.
+         * @return The Sync Index, or null if incremental syncing is disabled or a full sync is required.
+         */
+        public static SyncIndex load(Endpoint endpoint, ChannelState channelState) {
+            return Optional.ofNullable(channelState)
+                    .filter(state -> Config.incrementalSync)
+                    .map(state -> state.getSyncFile(endpoint.getName()))
+                    .filter(File::exists)
+                    .map(Filesystem::readLines)
+                    .filter(lines -> !lines.isEmpty() && lines.get(0).startsWith(LAST_FULL_SYNC_PREFIX))
+                    .map(lines -> {
+                        final SyncIndex syncIndex = new SyncIndex(Long.parseLong(lines.get(0).substring(LAST_FULL_SYNC_PREFIX.length()).strip()));
+                        lines.stream().skip(1)
+                                .filter(line -> !StringUtility.isNullOrBlank(line))
+                                .map(line -> line.split(Pattern.quote(SEPARATOR), 2))
+                                .forEachOrdered(entry -> syncIndex.entries.put(entry[0], ((entry.length > 1) ? entry[1] : "")));
+                        return syncIndex;
+                    })
+                    .filter(syncIndex -> !syncIndex.isExpired())
+                    .map(Mappers.forEach(e -> logApi(channelState, endpoint.getName(), ("Loaded sync index with " + e.entries.size() + " known entries"))))
+                    .orElse(null);
+        }
+        
+        /**
+         * Saves the Sync Index of an API Endpoint for a Channel.
+         *
+         * @param syncIndex    The Sync Index.
+         * @param endpoint     The API Endpoint.
+         * @param channelState The Channel State of the calling Channel.
+         */
+        public static void save(SyncIndex syncIndex, Endpoint endpoint, ChannelState channelState) {
+            Optional.ofNullable(channelState)
+                    .filter(state -> Config.incrementalSync)
+                    .map(state -> state.getSyncFile(endpoint.getName()))
+                    .ifPresent(syncFile -> Filesystem.writeLines(syncFile, Stream.concat(
+                                    Stream.of(LAST_FULL_SYNC_PREFIX + syncIndex.lastFullSync),
+                                    syncIndex.entries.entrySet().stream().map(entry -> (entry.getKey() + SEPARATOR + entry.getValue())))
+                            .collect(Collectors.toList())));
+        }
+        
+    }
+    
+    /**
+     * Checkpoints the progress of fetching a list from an API list Endpoint for a Channel, so that an interrupted fetch can be resumed.<br>
+     * The fetched pages are kept in a partial Page Store, and a line is appended to the checkpoint file for each stored page,
+     * recording the token of the next list page, the number of stored pages, and the ids listed on the page.
+     */
+    private static class ListCheckpoint {
+        
+        //Constants
+        
+        /**
+         * The separator between the fields of a line in a checkpoint file.
+         */
+        private static final String SEPARATOR = "|";
+        
+        /**
+         * The separator between the listed ids in a line of a checkpoint file.
+         */
+        private static final String ID_SEPARATOR = ",";
+        
+        /**
+         * The number of milliseconds after which a checkpoint is no longer resumed.
+         */
+        private static final long MAX_AGE = TimeUnit.DAYS.toMillis(1);
+        
+        
+        //Fields
+        
+        /**
+         * The checkpoint file.
+         */
+        private final File file;
+        
+        /**
+         * The Page Store holding the pages fetched so far.
+         */
+        private final PageStore pageStore;
+        
+        /**
+         * The token of the next list page to fetch, or null if the list has been fully listed.
+         */
+        private String pageToken = null;
+        
+        /**
+         * The number of list pages covered by the checkpoint.
+         */
+        private int listPageCount = 0;
+        
+        /**
+         * The ids listed on the list pages covered by the checkpoint.
+         */
+        private final List<String> listedIds = new ArrayList<>();
+        
+        /**
+         * The list pages whose pages of Entities have not been stored yet, as entries of the token of the next list page and the listed ids.
+         */
+        private final List<Map.Entry<String, List<String>>> pendingListings = new ArrayList<>();
+        
+        
+        //Constructors
+        
+        /**
+         * Creates a List Checkpoint.
+         *
+         * @param file        The checkpoint file.
+         * @param partialFile The partial data file.
+         * @throws RuntimeException When there is an error reading or resetting the checkpoint.
+         */
+        private ListCheckpoint(File file, File partialFile) {
+            this.file = file;
+            
+            final List<String> entries = Optional.of(file)
+                    .filter(File::exists).filter(e -> partialFile.exists())
+                    .filter(e -> (System.currentTimeMillis() - e.lastModified()) < MAX_AGE)
+                    .map(Filesystem::readFileToString)
+                    .map(checkpoint -> checkpoint.substring(0, (checkpoint.lastIndexOf('\n') + 1)))
+                    .map(StringUtility::splitLines)
+                    .orElseGet(ArrayList::new);
+            entries.removeIf(String::isEmpty);
+            
+            final PageStore partialStore = entries.isEmpty() ? null : PageStore.open(partialFile);
+            final int storedPageCount = entries.isEmpty() ? 0 :
+                                        Integer.parseInt(entries.get(entries.size() - 1).split(Pattern.quote(SEPARATOR), -1)[1]);
+            
+            if ((partialStore != null) && (partialStore.size() >= storedPageCount)) {
+                partialStore.truncate(storedPageCount);
+                entries.stream()
+                        .map(entry -> entry.split(Pattern.quote(SEPARATOR), -1))
+                        .forEachOrdered(entry -> {
+                            pageToken = entry[0].isEmpty() ? null : entry[0];
+                            listPageCount++;
+                            Arrays.stream(entry[2].split(Pattern.quote(ID_SEPARATOR)))
+                                    .filter(id -> !id.isEmpty())
+                                    .forEachOrdered(listedIds::add);
+                        });
+                this.pageStore = partialStore;
+            } else {
+                Optional.of(file)
+                        .filter(e -> !e.exists() || Filesystem.deleteFile(e))
+                        .orElseThrow(() -> new RuntimeException(new IOException("Error deleting: " + PathUtils.path(file))));
+                this.pageStore = PageStore.create(partialFile);
+            }
+        }
+        
+        
+        //Methods
+        
+        /**
+         * Records that a list page has been fetched and its page of Entities has been requested.
+         *
+         * @param nextPageToken The token of the next list page, or null if it was the last list page.
+         * @param ids           The ids listed on the list page.
+         */
+        public synchronized void listed(String nextPageToken, List<String> ids) {
+            pendingListings.add(new AbstractMap.SimpleImmutableEntry<>(nextPageToken, List.copyOf(ids)));
+        }
+        
+        /**
+         * Stores the page of Entities of the earliest pending list page, and checkpoints the progress of the list.
+         *
+         * @param page The page of Entity json data, or null if there was no data.
+         * @throws RuntimeException When there is an error writing the page or the checkpoint.
+         */
+        public synchronized void stored(String page) {
+            final Map.Entry<String, List<String>> listing = pendingListings.remove(0);
+            Optional.ofNullable(page).ifPresent(pageStore::append);
+            
+            pageToken = listing.getKey();
+            listPageCount++;
+            listedIds.addAll(listing.getValue());
+            
+            Optional.of(file)
+                    .filter(e -> Filesystem.writeStringToFile(e, (String.join(SEPARATOR,
+                            Optional.ofNullable(pageToken).orElse(""),
+                            String.valueOf(pageStore.size()),
+                            String.join(ID_SEPARATOR, listing.getValue())) + '\n'), true))
+                    .orElseThrow(() -> new RuntimeException(new IOException("Error writing: " + PathUtils.path(file))));
+        }
+        
+        /**
+         * Completes the list, moving the stored pages into place as the data cache and discarding the checkpoint.
+         *
+         * @param remainingPages The list of pages that have not been stored yet.
+         * @param dataFile       The data cache file.
+         * @throws RuntimeException When there is an error writing the data cache or deleting the checkpoint.
+         */
+        public synchronized void complete(List<String> remainingPages, File dataFile) {
+            remainingPages.stream()
+                    .filter(page -> !StringUtility.isNullOrBlank(page))
+                    .forEachOrdered(pageStore::append);
+            pageStore.moveTo(dataFile);
+            
+            Optional.of(file)
+                    .filter(e -> !e.exists() || Filesystem.deleteFile(e))
+                    .orElseThrow(() -> new RuntimeException(new IOException("Error deleting: " + PathUtils.path(file))));
+        }
+        
+        /**
+         * Returns whether the List Checkpoint resumes a previous fetch or not.
+         *
+         * @return Whether the List Checkpoint resumes a previous fetch or not.
+         */
+        public boolean isResumed() {
+            return (listPageCount > 0);
+        }
+        
+        
+        //Getters
+        
+        /**
+         * Returns the pages stored by the List Checkpoint.
+         *
+         * @return The list of pages.
+         */
+        public List<String> getPages() {
+            return pageStore.readAll();
+        }
+        
+        /**
+         * Returns the token of the next list page to fetch.
+         *
+         * @return The token of the next list page to fetch, or null if the list has been fully listed.
+         */
+        public String getPageToken() {
+            return pageToken;
+        }
+        
+        /**
+         * Returns the number of list pages covered by the List Checkpoint.
+         *
+         * @return The number of list pages covered by the List Checkpoint.
+         */
+        public int getListPageCount() {
+            return listPageCount;
+        }
+        
+        /**
+         * Returns the ids listed on the list pages covered by the List Checkpoint.
+         *
+         * @return The list of listed ids.
+         */
+        public List<String> getListedIds() {
+            return listedIds;
+        }
+        
+        
+        //Static Methods
+        
+        /**
+         * Opens the List Checkpoint of an API Endpoint for a Channel, resuming the previous fetch if it was interrupted recently.
+         *
+         * @param endpoint     The API Endpoint.
+         * @param channelState The Channel State of the calling Channel.
+         * @return The List Checkpoint, or null if there is no Channel State.
+         * @throws RuntimeException When there is an error reading or resetting the checkpoint.
+         */
+        public static ListCheckpoint open(Endpoint endpoint, ChannelState channelState) {
+            return Optional.ofNullable(channelState)
+                    .map(state -> new ListCheckpoint(state.getCheckpointFile(endpoint.getName()), state.getPartialDataFile(endpoint.getName())))
+                    .orElse(null);
+        }
+        
+    }
+    
+    /**
+     * Caches the responses from the Youtube Data API between runs, along with their ETag, so that they can be revalidated instead of downloaded again.<br>
+     * Only list pages and single Entity lookups are cached; lookups of a batch of Entities are keyed by an id set that rarely repeats.
+     */
+    private static class ResponseCache {
+        
+        //Constants
+        
+        /**
+         * The number of days a cached response is kept after it was last used.
+         */
+        private static final long MAX_AGE_DAYS = 30L;
+        
+        
+        //Static Methods
+        
+        /**
+         * Returns the response cache file for an API request.<br>
+         * The file is keyed by the API Endpoint and the sorted request parameters, excluding the API key.
+         *
+         * @param endpoint   The API Endpoint.
+         * @param parameters The map of request parameters.
+         * @return The response cache file, or null if the response should not be cached.
+         */
+        public static File getCacheFile(Endpoint endpoint, Map<String, String> parameters) {
+            if (!Config.cacheResponses ||
+                    ((endpoint.getCategory() == EndpointCategory.ENTITY) && parameters.getOrDefault("id", "").contains(","))) {
+                return null;
+            }
+            
+            final Map<String, String> keyParameters = new TreeMap<>(parameters);
+            keyParameters.remove("key");
+            return new File(new File(RESPONSE_CACHE_DIR, endpoint.getName()),
+                    FileUtils.setFormat(DigestUtils.sha1Hex(endpoint.name() + ApiHandler.buildApiParameterString(keyParameters)), FileUtils.DATA_FILE_FORMAT));
+        }
+        
+        /**
+         * Loads a cached response.
+         *
+         * @param cacheFile The response cache file.
+         * @return An entry containing the ETag and body of the cached response, or null if there is no cached response.
+         */
+        public static Map.Entry<String, String> load(File cacheFile) {
+            return Optional.ofNullable(cacheFile)
+                    .filter(File::exists)
+                    .map(Filesystem::readFileToString)
+                    .filter(data -> data.indexOf('\n') > 0)
+                    .map(data -> new AbstractMap.SimpleImmutableEntry<>(
+                            data.substring(0, data.indexOf('\n')).strip(),
+                            data.substring(data.indexOf('\n') + 1)))
+                    .filter(cached -> !StringUtility.isNullOrBlank(cached.getKey()) && !StringUtility.isNullOrBlank(cached.getValue()))
+                    .orElse(null);
+        }
+        
+        /**
+         * Saves a response to the response cache.<br>
+         * The response is written to a temporary file first, so that concurrent readers never see a partial response.
+         *
+         * @param cacheFile The response cache file.
+         * @param etag      The ETag of the response.
+         * @param response  The body of the response.
+         */
+        public static void save(File cacheFile, String etag, String response) {
+            if ((cacheFile == null) || StringUtility.isNullOrBlank(etag) || (response == null)) {
+                return;
+            }
+            
+            final File tmpFile = new File(cacheFile.getParentFile(), (cacheFile.getName() + '.' + Thread.currentThread().getId()));
+            try {
+                Files.createDirectories(cacheFile.getParentFile().toPath());
+                Files.writeString(tmpFile.toPath(), (etag.strip() + '\n' + response), StandardCharsets.UTF_8);
+                Files.move(tmpFile.toPath(), cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                logger.debug(Color.bad("Failed to cache API response: ") + Color.quoteFilePath(cacheFile));
+                Filesystem.deleteFile(tmpFile);
+            }
+        }
+        
+        /**
+         * Marks a cached response as used, so that it is not pruned.
+         *
+         * @param cacheFile The response cache file.
+         */
+        public static void touch(File cacheFile) {
+            Optional.ofNullable(cacheFile)
+                    .filter(File::exists)
+                    .ifPresent(file -> Filesystem.setLastModifiedTime(file, new Date()));
+        }
+        
+        /**
+         * Deletes the cached responses that have not been used within the maximum age.
+         */
+        public static void prune() {
+            if (!RESPONSE_CACHE_DIR.exists()) {
+                return;
+            }
+            
+            final long cutoff = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(MAX_AGE_DAYS);
+            final long pruned = Filesystem.getFilesRecursively(RESPONSE_CACHE_DIR).stream()
+                    .filter(file -> file.lastModified() < cutoff)
+                    .filter(Filesystem::deleteFile)
+                    .count();
+            if (pruned > 0) {
+                logger.debug(Color.log("Pruned ") + Color.number(pruned) + Color.log(" expired API response(s) from the response cache"));
+            }
+        }
+        
+    }
+    
+    /**
+     * Stores the pages of data fetched from an API list Endpoint for a Channel, one page per line.<br>
+     * Pages can be appended as soon as they are fetched, read back as a stream, or read individually by page index.
+     */
+    private static class PageStore {
+        
+        //Constants
+        
+        /**
+         * The pattern matching a line break in a page, along with the indentation that follows it.
+         */
+        private static final Pattern LINE_BREAK_PATTERN = Pattern.compile("\\r?\\n\\s*");
+        
+        /**
+         * The size of the buffer used when indexing a page store file.
+         */
+        private static final int BUFFER_SIZE = 65536;
+        
+        
+        //Fields
+        
+        /**
+         * The page store file.
+         */
+        private File file;
+        
+        /**
+         * The offsets of the complete pages in the page store file.
+         */
+        private final List<Long> offsets = new ArrayList<>();
+        
+        /**
+         * The length of the complete pages in the page store file; anything after this was left by an interrupted write.
+         */
+        private long length = 0L;
+        
+        
+        //Constructors
+        
+        /**
+         * Creates a Page Store.
+         *
+         * @param file The page store file.
+         * @throws RuntimeException When there is an error indexing the page store file.
+         */
+        private PageStore(File file) {
+            this.file = file;
+            
+            if (file.exists()) {
+                index();
+            }
+        }
+        
+        
+        //Methods
+        
+        /**
+         * Indexes the complete pages in the page store file.
+         *
+         * @throws RuntimeException When there is an error reading the page store file.
+         */
+        private void index() {
+            try (InputStream in = Files.newInputStream(file.toPath())) {
+                final byte[] buffer = new byte[BUFFER_SIZE];
+                long position = 0L;
+                int read;
+                while ((read = in.read(buffer)) > 0) {
+                    for (int i = 0; i < read; i++) {
+                        if (buffer[i] == '\n') {
+                            offsets.add(length);
+                            length = position + i + 1;
+                        }
+                    }
+                    position += read;
+                }
+            } catch (IOException e) {
+                throw new RuntimeException(new IOException("Error reading: " + PathUtils.path(file), e));
+            }
+        }
+        
+        /**
+         * Appends a page to the Page Store and forces it to disk.
+         *
+         * @param page The page.
+         * @throws RuntimeException When there is an error writing the page store file.
+         */
+        public synchronized void append(String page) {
+            final ByteBuffer line = ByteBuffer.wrap((LINE_BREAK_PATTERN.matcher(page.strip()).replaceAll("") + '\n').getBytes(StandardCharsets.UTF_8));
+            final long offset = length;
+            
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                channel.truncate(offset);
+                channel.position(offset);
+                while (line.hasRemaining()) {
+                    length += channel.write(line);
+                }
+                channel.force(false);
+            } catch (IOException e) {
+                length = offset;
+                throw new RuntimeException(new IOException("Error writing: " + PathUtils.path(file), e));
+            }
+            offsets.add(offset);
+        }
+        
+        /**
+         * Returns a page from the Page Store.
+         *
+         * @param index The index of the page.
+         * @return The page.
+         * @throws IndexOutOfBoundsException When the index is out of bounds.
+         * @throws RuntimeException          When there is an error reading the page store file.
+         */
+        public synchronized String get(int index) {
+            final long offset = offsets.get(index);
+            final long end = (index + 1 < offsets.size()) ? offsets.get(index + 1) : length;
+            final ByteBuffer line = ByteBuffer.allocate((int) (end - offset - 1));
+            
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+                while (line.hasRemaining()) {
+                    if (channel.read(line, (offset + line.position())) < 0) {
+                        throw new EOFException();
+                    }
+                }
+            } catch (IOException e) {
+                throw new RuntimeException(new IOException("Error reading: " + PathUtils.path(file), e));
+            }
+            return new String(line.array(), StandardCharsets.UTF_8);
+        }
+        
+        /**
+         * Streams the pages in the Page Store, without loading the whole page store file.<br>
+         * The returned stream must be closed.
+         *
+         * @return A stream of the pages.
+         * @throws RuntimeException When there is an error reading the page store file.
+         */
+        public synchronized Stream<String> stream() {
+            if (offsets.isEmpty()) {
+                return Stream.empty();
+            }
+            
+            try {
+                final BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8);
+                return reader.lines().limit(offsets.size())
+                        .onClose(() -> {
+                            try {
+                                reader.close();
+                            } catch (IOException ignored) {
+                            }
+                        });
+            } catch (IOException e) {
+                throw new RuntimeException(new IOException("Error reading: " + PathUtils.path(file), e));
+            }
+        }
+        
+        /**
+         * Reads all of the pages in the Page Store.
+         *
+         * @return The list of pages.
+         * @throws RuntimeException When there is an error reading the page store file.
+         */
+        public List<String> readAll() {
+            try (Stream<String> pages = stream()) {
+                return pages.collect(Collectors.toList());
+            }
+        }
+        
+        /**
+         * Moves the page store file.
+         *
+         * @param target The new page store file.
+         * @throws RuntimeException When there is an error moving the page store file.
+         */
+        public synchronized void moveTo(File target) {
+            Optional.of(target)
+                    .filter(e -> file.exists() ? Filesystem.moveFile(file, target, true) : Filesystem.writeStringToFile(target, ""))
+                    .orElseThrow(() -> new RuntimeException(new IOException("Error writing: " + PathUtils.path(target))));
+            file = target;
+        }
+        
+        /**
+         * Truncates the Page Store to a number of pages.
+         *
+         * @param pages The number of pages to keep.
+         * @throws RuntimeException When there is an error writing the page store file.
+         */
+        public synchronized void truncate(int pages) {
+            if (pages >= offsets.size()) {
+                return;
+            }
+            
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE)) {
+                channel.truncate(offsets.get(pages));
+            } catch (IOException e) {
+                throw new RuntimeException(new IOException("Error writing: " + PathUtils.path(file), e));
+            }
+            length = offsets.get(pages);
+            offsets.subList(pages, offsets.size()).clear();
+        }
+        
+        /**
+         * Returns the number of pages in the Page Store.
+         *
+         * @return The number of pages in the Page Store.
+         */
+        public synchronized int size() {
+            return offsets.size();
+        }
+        
+        
+        //Static Methods
+        
+        /**
+         * Opens a Page Store.
+         *
+         * @param file The page store file.
+         * @return The Page Store.
+         * @throws RuntimeException When there is an error indexing the page store file.
+         */
+        public static PageStore open(File file) {
+            return new PageStore(file);
+        }
+        
+        /**
+         * Creates a new, empty Page Store, discarding any existing page store file.
+         *
+         * @param file The page store file.
+         * @return The Page Store.
+         * @throws RuntimeException When there is an error deleting the existing page store file.
+         */
+        public static PageStore create(File file) {
+            return Optional.of(file)
+                    .filter(e -> !e.exists() || Filesystem.deleteFile(e))
+                    .map(PageStore::new)
+                    .orElseThrow(() -> new RuntimeException(new IOException("Error deleting: " + PathUtils.path(file))));
+        }
+        
+    }
+    
+    /**
+     * Handles Entity loading and caching.
+     */
+    private static class EntityHandler {
+        
+        //Constants
+        
+        /**
+         * A flag indicating whether or not to log cache interactions by the Entity Handler.
+         */
+        private static final boolean LOG_CACHE_INTERACTIONS = false;
         
         
         //Static Fields
@@ -1642,14 +3333,14 @@ public final class ApiUtils {
         /**
          * A cache of previously fetched Entities.
          */
-        private static final Map<ApiEntity, Map<String, EntityInfo>> entityCache = Arrays.stream(ApiEntity.values())
-                .collect(MapCollectors.mapEachTo(() -> new HashMap<>()));
+        private static final Map<ApiEntity, EntityCache<EntityInfo>> entityCache = Arrays.stream(ApiEntity.values())
+                .collect(MapCollectors.mapEachTo(() -> new EntityCache<>()));
         
         /**
          * A cache of the json data of previously fetched Entities.
          */
-        private static final Map<ApiEntity, Map<String, Map<String, Object>>> entityDataCache = Arrays.stream(ApiEntity.values())
-                .collect(MapCollectors.mapEachTo(() -> new HashMap<>()));
+        private static final Map<ApiEntity, EntityCache<Map<String, Object>>> entityDataCache = Arrays.stream(ApiEntity.values())
+                .collect(MapCollectors.mapEachTo(() -> new EntityCache<>()));
         
         
         //Static Methods
@@ -1668,8 +3359,12 @@ public final class ApiUtils {
             return Optional.ofNullable(entityType).map(entityDataCache::get)
                     .flatMap(cache -> Optional.ofNullable(entityId)
                             .map(id -> {
-                                logApiCache(entityType, entityId, channelState, true, cache.containsKey(id));
-                                return cache.computeIfAbsent(id, entityDataLoader);
+                                final Map<String, Object> cached = cache.get(id, channelState);
+                                logApiCache(entityType, entityId, channelState, true, (cached != null));
+                                return Optional.ofNullable(cached)
+                                        .orElseGet(() -> Optional.ofNullable(entityDataLoader.apply(id))
+                                                .map(data -> cache.putIfAbsent(id, data, channelState))
+                                                .orElse(null));
                             }))
                     .orElse(null);
         }
@@ -1690,12 +3385,47 @@ public final class ApiUtils {
             return Optional.ofNullable(entityType).map(entityCache::get)
                     .flatMap(cache -> Optional.ofNullable(entityId)
                             .map(id -> {
-                                logApiCache(entityType, entityId, channelState, false, cache.containsKey(id));
-                                return (T) cache.computeIfAbsent(id, entityLoader);
+                                final EntityInfo cached = cache.get(id, channelState);
+                                logApiCache(entityType, entityId, channelState, false, (cached != null));
+                                return (T) Optional.ofNullable(cached)
+                                        .orElseGet(() -> Optional.<EntityInfo>ofNullable(entityLoader.apply(id))
+                                                .map(entity -> cache.putIfAbsent(id, entity, channelState))
+                                                .orElse(null));
                             }))
                     .orElse(null);
         }
         
+        /**
+         * Determines whether the json data of an Entity is cached.
+         *
+         * @param entityType The Type of the Entity.
+         * @param entityId   The id of the Entity.
+         * @return Whether the json data of the Entity is cached.
+         */
+        private static boolean isEntityDataCached(ApiEntity entityType, String entityId) {
+            return Optional.ofNullable(entityType).map(entityDataCache::get)
+                    .map(cache -> cache.containsKey(entityId))
+                    .orElse(false);
+        }
+        
+        /**
+         * Releases the cached Entities and Entity json data that are only held for a Channel.
+         *
+         * @param channelState The Channel State of the Channel.
+         */
+        private static void release(ChannelState channelState) {
+            Stream.concat(entityCache.values().stream(), entityDataCache.values().stream())
+                    .forEach(cache -> cache.release(channelState));
+        }
+        
+        /**
+         * Clears the Entity and Entity json data caches.
+         */
+        private static void clear() {
+            Stream.concat(entityCache.values().stream(), entityDataCache.values().stream())
+                    .forEach(EntityCache::clear);
+        }
+        
         /**
          * Logs a cache interaction by the Entity Handler.
          *
@@ -1941,4 +3671,189 @@ public final class ApiUtils {
         
     }
     
+    /**
+     * A bounded, least recently used cache of Entities of a single type, which tracks the Channels that use each Entity.
+     *
+     * @param <V> The type of the cached values.
+     */
+    private static class EntityCache<V> {
+        
+        //Fields
+        
+        /**
+         * The cached entries, in access order.
+         */
+        private final Map<String, CacheEntry> entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CacheEntry> eldest) {
+                if ((Config.entityCacheSize == null) || (Config.entityCacheSize < 0) || (size() <= Config.entityCacheSize)) {
+                    return false;
+                }
+                disown(eldest.getKey(), eldest.getValue());
+                Stats.totalEntityCacheEvictions.increment();
+                return true;
+            }
+        };
+        
+        /**
+         * The ids of the cached entries used by each Channel.
+         */
+        private final Map<ChannelState, Set<String>> owned = new HashMap<>();
+        
+        
+        //Methods
+        
+        /**
+         * Returns a value from the cache.
+         *
+         * @param id           The id of the Entity.
+         * @param channelState The Channel State of the calling Channel.
+         * @return The cached value, or null if it is not cached.
+         */
+        private synchronized V get(String id, ChannelState channelState) {
+            final CacheEntry entry = entries.get(id);
+            final V value = Optional.ofNullable(entry).map(CacheEntry::getValue).orElse(null);
+            
+            if (value == null) {
+                if (entry != null) {
+                    entries.remove(id);
+                    disown(id, entry);
+                }
+                Stats.totalEntityCacheMisses.increment();
+                return null;
+            }
+            
+            own(id, entry, channelState);
+            Stats.totalEntityCacheHits.increment();
+            return value;
+        }
+        
+        /**
+         * Adds a value to the cache, unless a value is already cached for the Entity.
+         *
+         * @param id           The id of the Entity.
+         * @param value        The value.
+         * @param channelState The Channel State of the calling Channel.
+         * @return The cached value.
+         */
+        private synchronized V putIfAbsent(String id, V value, ChannelState channelState) {
+            final CacheEntry existing = entries.get(id);
+            final V existingValue = Optional.ofNullable(existing).map(CacheEntry::getValue).orElse(null);
+            if (existingValue != null) {
+                own(id, existing, channelState);
+                return existingValue;
+            }
+            
+            final CacheEntry entry = new CacheEntry(value);
+            Optional.ofNullable(existing).ifPresent(reclaimed -> disown(id, reclaimed));
+            entries.put(id, entry);
+            own(id, entry, channelState);
+            return value;
+        }
+        
+        /**
+         * Determines whether a value is cached for an Entity.
+         *
+         * @param id The id of the Entity.
+         * @return Whether a value is cached for the Entity.
+         */
+        private synchronized boolean containsKey(String id) {
+            return Optional.ofNullable(entries.get(id)).map(CacheEntry::getValue).isPresent();
+        }
+        
+        /**
+         * Releases the values in the cache that are only used by a Channel.
+         *
+         * @param channelState The Channel State of the Channel.
+         */
+        private synchronized void release(ChannelState channelState) {
+            Optional.ofNullable(owned.remove(channelState))
+                    .ifPresent(ids -> ids.forEach(id ->
+                            Optional.ofNullable(entries.get(id))
+                                    .filter(entry -> entry.owners.remove(channelState) && entry.owners.isEmpty())
+                                    .ifPresent(entry -> entries.remove(id))));
+        }
+        
+        /**
+         * Clears the cache.
+         */
+        private synchronized void clear() {
+            entries.clear();
+            owned.clear();
+        }
+        
+        /**
+         * Records that a Channel uses a cached value.
+         *
+         * @param id           The id of the Entity.
+         * @param entry        The cache entry.
+         * @param channelState The Channel State of the Channel, or null.
+         */
+        private void own(String id, CacheEntry entry, ChannelState channelState) {
+            if ((channelState != null) && entry.owners.add(channelState)) {
+                owned.computeIfAbsent(channelState, key -> new HashSet<>()).add(id);
+            }
+        }
+        
+        /**
+         * Removes the records of the Channels that use a cached value.
+         *
+         * @param id    The id of the Entity.
+         * @param entry The cache entry.
+         */
+        private void disown(String id, CacheEntry entry) {
+            entry.owners.forEach(channelState ->
+                    Optional.ofNullable(owned.get(channelState)).ifPresent(ids -> ids.remove(id)));
+            entry.owners.clear();
+        }
+        
+        
+        //Inner Classes
+        
+        /**
+         * An entry in the Entity Cache.
+         */
+        private class CacheEntry {
+            
+            //Fields
+            
+            /**
+             * The value, or a soft reference to the value.
+             */
+            private final Object value;
+            
+            /**
+             * The Channel States of the Channels that use the value.
+             */
+            private final Set<ChannelState> owners = new HashSet<>();
+            
+            
+            //Constructors
+            
+            /**
+             * Creates a Cache Entry.
+             *
+             * @param value The value.
+             */
+            private CacheEntry(V value) {
+                this.value = Config.softEntityCache ? new SoftReference<>(value) : value;
+            }
+            
+            
+            //Getters
+            
+            /**
+             * Returns the value of the Cache Entry.
+             *
+             * @return The value of the Cache Entry, or null if it has been reclaimed.
+             */
+            @SuppressWarnings("unchecked")
+            private V getValue() {
+                return (V) ((value instanceof SoftReference) ? ((SoftReference<?>) value).get() : value);
+            }
+            
+        }
+        
+    }
+    
 }
@@ -7,12 +7,28 @@
 
 package youtube.util;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
 
 import commons.access.CmdLine;
 import commons.io.console.Console;
@@ -50,7 +66,8 @@ public final class DownloadUtils {
             "sign in to",
             "please install or provide the path",
             "check back later",
-            "requested format is not available"
+            "requested format is not available",
+            "download worker timed out"
     };
     
     /**
@@ -60,6 +77,21 @@ public final class DownloadUtils {
             "sign in to"
     };
     
+    /**
+     * The maximum number of lines of the output of a download to retain for processing the download response.
+     */
+    private static final int MAX_RESPONSE_LINES = 500;
+    
+    /**
+     * The output template of a batch download, relative to the output directory of the Videos in the batch.
+     */
+    private static final String BATCH_OUTPUT_TEMPLATE = "%(id)s.%(ext)s";
+    
+    /**
+     * The message of the line from the executable output which begins the download of a Video in a batch download.
+     */
+    private static final String BATCH_ITEM_MESSAGE = "Extracting URL: ";
+    
     
     //Enums
     
@@ -148,6 +180,16 @@ public final class DownloadUtils {
      */
     private static final AtomicBoolean loaded = new AtomicBoolean(false);
     
+    /**
+     * The permits limiting the number of downloads that may be performed concurrently.
+     */
+    private static Semaphore downloadPermits = new Semaphore(Config.DEFAULT_MAX_CONCURRENT_DOWNLOADS.intValue(), true);
+    
+    /**
+     * The log of the download job being performed by the current thread, or null if download logs are not being buffered.
+     */
+    private static final ThreadLocal<JobLog> jobLog = new ThreadLocal<>();
+    
     
     //Static Methods
     
@@ -163,11 +205,155 @@ public final class DownloadUtils {
             
             Config.init();
             
+            downloadPermits = new Semaphore(getMaxConcurrentDownloads(), true);
+            
             return true;
         }
         return false;
     }
     
+    /**
+     * Returns the maximum number of downloads that may be performed concurrently.
+     *
+     * @return The maximum number of downloads that may be performed concurrently.
+     */
+    public static int getMaxConcurrentDownloads() {
+        return Math.max(1, Optional.ofNullable(Config.maxConcurrentDownloads)
+                .orElse(Config.DEFAULT_MAX_CONCURRENT_DOWNLOADS).intValue());
+    }
+    
+    /**
+     * Returns the maximum number of Videos that may be downloaded by a single invocation of the executable.
+     *
+     * @return The maximum number of Videos that may be downloaded by a single invocation of the executable.
+     */
+    public static int getBatchSize() {
+        return Math.max(1, Optional.ofNullable(Config.batchSize)
+                .orElse(Config.DEFAULT_BATCH_SIZE).intValue());
+    }
+    
+    /**
+     * Downloads a list of Youtube Videos.<br>
+     * When more than one download is allowed at a time, the output of each download is buffered and logged in order once the download completes.<br>
+     * When batching is enabled, Videos that share the same download settings are downloaded together by a single invocation of the executable.
+     *
+     * @param videos   The list of Videos.
+     * @param threads  The maximum number of Videos to download concurrently.
+     * @param callback The callback to perform with the response of each download attempt; must be thread safe when downloading concurrently.
+     */
+    public static void downloadYoutubeVideos(List<Video> videos, int threads, BiConsumer<Video, DownloadResponse> callback) {
+        final List<List<Video>> batches = batchVideos(videos);
+        threads = Math.max(1, Math.min(Math.min(threads, getMaxConcurrentDownloads()), batches.size()));
+        
+        if (threads == 1) {
+            batches.forEach(batch -> performDownloadJob(batch, videos, callback));
+            return;
+        }
+        
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final List<Future<JobLog>> jobs = batches.stream()
+                    .map(batch -> executor.submit(() -> {
+                        final JobLog log = new JobLog();
+                        jobLog.set(log);
+                        try {
+                            performDownloadJob(batch, videos, callback);
+                        } finally {
+                            jobLog.remove();
+                        }
+                        return log;
+                    }))
+                    .collect(Collectors.toList());
+            
+            for (Future<JobLog> job : jobs) {
+                try {
+                    job.get().flush();
+                } catch (Exception e) {
+                    logger.error(Color.bad("Download job failed"), e);
+                }
+            }
+            
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+    
+    /**
+     * Splits a list of Youtube Videos into the batches that will be downloaded by a single invocation of the executable.<br>
+     * Only Videos with the same output directory and download settings are batched together.
+     *
+     * @param videos The list of Videos.
+     * @return The list of batches.
+     */
+    private static List<List<Video>> batchVideos(List<Video> videos) {
+        final int batchSize = getBatchSize();
+        if ((batchSize == 1) || ExecutableUtils.Config.executable.isDeprecated() || WorkerUtils.isEnabled()) {
+            return videos.stream().map(List::of).collect(Collectors.toList());
+        }
+        
+        final List<List<Video>> batches = new ArrayList<>();
+        final Map<String, List<Video>> openBatches = new HashMap<>();
+        for (Video video : videos) {
+            final String batchKey = video.getDownload().getParentFile().getAbsolutePath() + buildDownloadFlags(video, false);
+            final List<Video> batch = openBatches.computeIfAbsent(batchKey, key -> {
+                final List<Video> newBatch = new ArrayList<>();
+                batches.add(newBatch);
+                return newBatch;
+            });
+            
+            batch.add(video);
+            if (batch.size() == batchSize) {
+                openBatches.remove(batchKey);
+            }
+        }
+        return batches;
+    }
+    
+    /**
+     * Performs a Youtube Video download job.
+     *
+     * @param batch    The batch of Videos to download.
+     * @param videos   The download list.
+     * @param callback The callback to perform with the response of each download attempt.
+     */
+    private static void performDownloadJob(List<Video> batch, List<Video> videos, BiConsumer<Video, DownloadResponse> callback) {
+        try {
+            downloadPermits.acquire();
+        } catch (InterruptedException ignored) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        
+        try {
+            if (batch.size() > 1) {
+                downloadYoutubeVideoBatch(batch, videos, callback);
+                return;
+            }
+            
+            final Video video = batch.get(0);
+            logDownloading(video, videos);
+            
+            final DownloadResponse response = downloadYoutubeVideo(video);
+            callback.accept(video, response);
+            
+        } catch (Exception e) {
+            log(() -> logger.error(Color.bad("Failed to download: ") + batch.stream().map(Color::quoteVideoTitle).collect(Collectors.joining(Color.bad(", "))), e));
+        } finally {
+            downloadPermits.release();
+        }
+    }
+    
+    /**
+     * Logs the start of the download of a Youtube Video.
+     *
+     * @param video  The Video.
+     * @param videos The download list.
+     */
+    private static void logDownloading(Video video, List<Video> videos) {
+        final int index = videos.indexOf(video);
+        log(() -> logger.info(Color.base("Downloading (") + Color.number(index + 1) + Color.base("/") + Color.number(videos.size()) + Color.base("): ") + Color.videoTitle(video)));
+    }
+    
     /**
      * Downloads a Youtube Video.
      *
@@ -186,29 +372,77 @@ public final class DownloadUtils {
      * @return A download response indicating the result of the download attempt.
      */
     private static DownloadResponse downloadYoutubeVideo(Video video, boolean isRetry) {
-        final boolean newExe = !ExecutableUtils.Config.executable.isDeprecated();
-        final boolean audio = Optional.ofNullable(video.getConfig()).map(ChannelEntry::isSaveAsAudio).orElse(Config.asAudio);
-        final SponsorBlocker.SponsorBlockConfig sponsorBlockConfig = Optional.ofNullable(video.getConfig()).map(ChannelEntry::getSponsorBlockConfig).orElse(null);
-        
         if (isRetry && (Configurator.Config.neverUseBrowserCookies || StringUtility.isNullOrBlank(Config.browser))) {
             return null;
         }
         
         final String cmd = Color.exe(ExecutableUtils.Config.executable.getCall()) + Color.log(" ") +
                 Color.log("--output ") + Color.quoteFilePath((video.getDownload().getAbsolutePath() + ".%(ext)s"), true) + Color.log(" ") +
-                Color.log("--geo-bypass --rm-cache-dir ") +
+                buildDownloadFlags(video, isRetry) +
+                Color.link(video.getInfo().getUrl());
+        
+        return performDownload(cmd, video, isRetry);
+    }
+    
+    /**
+     * Downloads a batch of Youtube Videos with a single invocation of the executable.<br>
+     * Each Video is saved under its id, and moved to its output once the executable reports its final path.
+     * Videos that the executable never reached are downloaded individually afterwards.
+     *
+     * @param batch    The batch of Videos, which share the same output directory and download settings.
+     * @param videos   The download list.
+     * @param callback The callback to perform with the response of each download attempt.
+     */
+    private static void downloadYoutubeVideoBatch(List<Video> batch, List<Video> videos, BiConsumer<Video, DownloadResponse> callback) {
+        final Video first = batch.get(0);
+        final String cmd = Color.exe(ExecutableUtils.Config.executable.getCall()) + Color.log(" ") +
+                Color.log("--output ") + Color.quoteFilePath(new File(first.getDownload().getParentFile(), BATCH_OUTPUT_TEMPLATE).getAbsolutePath(), true) + Color.log(" ") +
+                Color.log("--ignore-errors ") +
+                buildDownloadFlags(first, false) +
+                batch.stream().map(video -> Color.link(video.getInfo().getUrl())).collect(Collectors.joining(Color.log(" "))) +
+                Color.log(" 2>&1");
+        
+        log(() -> LogUtils.logDivider(logger, '-'));
+        log(() -> LogUtils.log(logger, LogUtils.LogLevel.INFO,
+                (LogUtils.Config.showCommand ? (LogUtils.INDENT + cmd) : StringUtility.removeConsoleEscapeCharacters(cmd))));
+        
+        final DownloadBatch downloadBatch = new DownloadBatch(batch, videos, callback);
+        try {
+            CmdLine.executeCmd(StringUtility.removeConsoleEscapeCharacters(cmd), false, downloadBatch::processLog, -1);
+        } catch (Exception e) {
+            log(() -> logger.error(Color.bad("Batch download failed"), e));
+        }
+        downloadBatch.finish();
+        
+        log(() -> LogUtils.logDivider(logger, '-'));
+        downloadBatch.downloadRemaining();
+    }
+    
+    /**
+     * Builds the flags of the command to download a Youtube Video, excluding its output and url.
+     *
+     * @param video   The Video.
+     * @param isRetry Whether this download attempt is a retry or not.
+     * @return The flags of the download command.
+     */
+    private static String buildDownloadFlags(Video video, boolean isRetry) {
+        final boolean newExe = !ExecutableUtils.Config.executable.isDeprecated();
+        final boolean audio = Optional.ofNullable(video.getConfig()).map(ChannelEntry::isSaveAsAudio).orElse(Config.asAudio);
+        final SponsorBlocker.SponsorBlockConfig sponsorBlockConfig = Optional.ofNullable(video.getConfig()).map(ChannelEntry::getSponsorBlockConfig).orElse(null);
+        
+        return Color.log("--geo-bypass --rm-cache-dir ") +
                 Color.log(Configurator.Config.neverUseBrowserCookies ? "--no-cookies-from-browser " :
                           (isRetry ? ("--cookies-from-browser " + Config.browser.toLowerCase() + " ") : "")) +
                 Color.log((audio ? ("--extract-audio --audio-format " + Config.defaultAudioFormat + " ") :
                            ((newExe && !Config.preMerged) ? "" : "--format best ")) +
                         (newExe ? ("-f b" + (audio ? "a" : "") + " ") : "")) +
+                Color.log(!newExe ? "" : ("--newline --progress --no-quiet " +
+                        "--progress-template \"" + DownloadProgressBar.PROGRESS_TEMPLATE + "\" " +
+                        "--print \"" + DownloadProgressBar.FILEPATH_TEMPLATE + "\" ")) +
                 Color.log(Optional.ofNullable(sponsorBlockConfig).map(SponsorBlocker::getCommand)
                         .filter(e -> !StringUtility.isNullOrBlank(e)).map(String::trim).map(e -> (e + " ")).orElse("")) +
                 Color.log(Optional.ofNullable(ExecutableUtils.Config.customFlags)
-                        .filter(e -> !StringUtility.isNullOrBlank(e)).map(String::trim).map(e -> (e + " ")).orElse("")) +
-                Color.link(video.getInfo().getUrl());
-        
-        return performDownload(cmd, video, isRetry);
+                        .filter(e -> !StringUtility.isNullOrBlank(e)).map(String::trim).map(e -> (e + " ")).orElse(""));
     }
     
     /**
@@ -219,15 +453,24 @@ public final class DownloadUtils {
      * @return A download response indicating the result of the download attempt.
      */
     private static DownloadResponse performDownload(String cmd, Video video, boolean isRetry) {
-        LogUtils.logDivider(logger, '-');
-        LogUtils.log(logger, (isRetry ? LogUtils.LogLevel.WARN : LogUtils.LogLevel.INFO),
-                (LogUtils.Config.showCommand ? (LogUtils.INDENT + cmd) : StringUtility.removeConsoleEscapeCharacters(cmd)));
+        log(() -> LogUtils.logDivider(logger, '-'));
+        log(() -> LogUtils.log(logger, (isRetry ? LogUtils.LogLevel.WARN : LogUtils.LogLevel.INFO),
+                (LogUtils.Config.showCommand ? (LogUtils.INDENT + cmd) : StringUtility.removeConsoleEscapeCharacters(cmd))));
         
         final DownloadResponse response = new DownloadResponse();
-        final DownloadProgressBar progressBar = new DownloadProgressBar(video, response);
+        final boolean useWorker = WorkerUtils.isEnabled();
+        DownloadProgressBar progressBar = new DownloadProgressBar(video, response, (jobLog.get() != null));
         
         try {
-            final String cmdResponse = CmdLine.executeCmd(StringUtility.removeConsoleEscapeCharacters(cmd), false, progressBar);
+            String cmdResponse = useWorker ? WorkerUtils.executeJob(cmd, progressBar::processLog, MAX_RESPONSE_LINES) : null;
+            if (cmdResponse != null) {
+                progressBar.complete();
+            } else {
+                if (useWorker) {
+                    progressBar = new DownloadProgressBar(video, response, (jobLog.get() != null));
+                }
+                cmdResponse = CmdLine.executeCmd(StringUtility.removeConsoleEscapeCharacters(cmd), false, progressBar, MAX_RESPONSE_LINES);
+            }
             
             response.processCmdResponse(cmdResponse);
             progressBar.finishDownload();
@@ -247,13 +490,24 @@ public final class DownloadUtils {
             progressBar.finishDownload(e);
         }
         
-        LogUtils.log(logger, (response.getStatus().isBad() ? LogUtils.LogLevel.WARN : LogUtils.LogLevel.INFO),
-                (LogUtils.INDENT + response.printedResponse()));
-        LogUtils.logDivider(logger, '-');
+        final String printedResponse = response.printedResponse();
+        log(() -> LogUtils.log(logger, (response.getStatus().isBad() ? LogUtils.LogLevel.WARN : LogUtils.LogLevel.INFO),
+                (LogUtils.INDENT + printedResponse)));
+        log(() -> LogUtils.logDivider(logger, '-'));
         
         return response;
     }
     
+    /**
+     * Logs an entry from a download, or buffers it if the download is being performed as a concurrent download job.
+     *
+     * @param entry The log entry.
+     */
+    private static void log(Runnable entry) {
+        Optional.ofNullable(jobLog.get()).ifPresentOrElse(
+                log -> log.add(entry), entry);
+    }
+    
     
     //Inner Classes
     
@@ -284,6 +538,16 @@ public final class DownloadUtils {
          */
         public static final String DEFAULT_DEFAULT_AUDIO_FORMAT = FileUtils.DEFAULT_AUDIO_FORMAT;
         
+        /**
+         * The default value of the maximum number of downloads that may be performed concurrently.
+         */
+        public static final Long DEFAULT_MAX_CONCURRENT_DOWNLOADS = 1L;
+        
+        /**
+         * The default value of the maximum number of Videos that may be downloaded by a single invocation of the executable.
+         */
+        public static final Long DEFAULT_BATCH_SIZE = 1L;
+        
         
         //Static Fields
         
@@ -312,6 +576,16 @@ public final class DownloadUtils {
          */
         public static String browser = null;
         
+        /**
+         * The maximum number of downloads that may be performed concurrently.
+         */
+        public static Long maxConcurrentDownloads = DEFAULT_MAX_CONCURRENT_DOWNLOADS;
+        
+        /**
+         * The maximum number of Videos that may be downloaded by a single invocation of the executable; only used when using yt-dlp.
+         */
+        public static Long batchSize = DEFAULT_BATCH_SIZE;
+        
         
         //Static Methods
         
@@ -354,6 +628,19 @@ public final class DownloadUtils {
             browser = Configurator.getSetting(List.of(
                     "browser",
                     "location.browser"));
+            
+            maxConcurrentDownloads = Configurator.getSetting(List.of(
+                            "maxConcurrentDownloads",
+                            "download.maxConcurrentDownloads",
+                            "process.maxConcurrentDownloads",
+                            "process.download.maxConcurrentDownloads"),
+                    DEFAULT_MAX_CONCURRENT_DOWNLOADS);
+            batchSize = Configurator.getSetting(List.of(
+                            "batchSize",
+                            "download.batchSize",
+                            "process.batchSize",
+                            "process.download.batchSize"),
+                    DEFAULT_BATCH_SIZE);
         }
         
     }
@@ -525,6 +812,259 @@ public final class DownloadUtils {
         
     }
     
+    /**
+     * Buffers the log entries of a concurrent download job so they can be logged together once the job completes.
+     */
+    private static class JobLog extends ArrayList<Runnable> {
+        
+        //Methods
+        
+        /**
+         * Logs and clears the buffered log entries.
+         */
+        public synchronized void flush() {
+            forEach(Runnable::run);
+            clear();
+        }
+        
+        /**
+         * Buffers a log entry.
+         *
+         * @param entry The log entry.
+         * @return Whether the log entry was buffered.
+         */
+        @Override
+        public synchronized boolean add(Runnable entry) {
+            return super.add(entry);
+        }
+        
+    }
+    
+    /**
+     * Tracks the downloads of a batch of Youtube Videos from the output of a single invocation of the executable.<br>
+     * The output of each Video begins with the line reporting its url, and is processed into its own Download Response once the next Video begins.
+     */
+    private static class DownloadBatch {
+        
+        //Fields
+        
+        /**
+         * The batch of Videos.
+         */
+        private final List<Video> batch;
+        
+        /**
+         * The download list.
+         */
+        private final List<Video> videos;
+        
+        /**
+         * The callback to perform with the response of each download attempt.
+         */
+        private final BiConsumer<Video, DownloadResponse> callback;
+        
+        /**
+         * The log of the download job performing the batch download, or null if download logs are not being buffered.
+         */
+        private final JobLog log;
+        
+        /**
+         * The set of Videos whose download has begun.
+         */
+        private final Set<Video> started = new HashSet<>();
+        
+        /**
+         * The Videos that failed with an error that should be retried using browser cookies, and their Download Responses.
+         */
+        private final Map<Video, DownloadResponse> retries = new LinkedHashMap<>();
+        
+        /**
+         * The retained output of the Video being downloaded.
+         */
+        private final Deque<String> lines = new ArrayDeque<>();
+        
+        /**
+         * The Video being downloaded, or null if no Video is being downloaded.
+         */
+        private Video video = null;
+        
+        /**
+         * The Download Response of the Video being downloaded.
+         */
+        private DownloadResponse response = null;
+        
+        /**
+         * The progress bar of the Video being downloaded.
+         */
+        private DownloadProgressBar progressBar = null;
+        
+        /**
+         * The file the Video being downloaded was saved to by the executable, or null if it has not been reported.
+         */
+        private File staged = null;
+        
+        
+        //Constructors
+        
+        /**
+         * Creates a new Download Batch.
+         *
+         * @param batch    The batch of Videos.
+         * @param videos   The download list.
+         * @param callback The callback to perform with the response of each download attempt.
+         */
+        public DownloadBatch(List<Video> batch, List<Video> videos, BiConsumer<Video, DownloadResponse> callback) {
+            this.batch = batch;
+            this.videos = videos;
+            this.callback = callback;
+            this.log = jobLog.get();
+        }
+        
+        
+        //Methods
+        
+        /**
+         * Processes a line of the output of the batch download.
+         *
+         * @param line    The line of output.
+         * @param isError Whether the line is an error line or not.
+         */
+        public synchronized void processLog(String line, boolean isError) {
+            final JobLog threadLog = jobLog.get();
+            jobLog.set(log);
+            try {
+                if (line.contains(BATCH_ITEM_MESSAGE)) {
+                    batch.stream()
+                            .filter(e -> !started.contains(e))
+                            .filter(e -> line.contains(e.getInfo().getVideoId()))
+                            .findFirst().ifPresent(this::startItem);
+                }
+                if (video == null) {
+                    return;
+                }
+                
+                lines.addLast(isError ? ("[*]" + line) : line);
+                if (lines.size() > MAX_RESPONSE_LINES) {
+                    lines.removeFirst();
+                }
+                if (line.startsWith(DownloadProgressBar.FILEPATH_TAG)) {
+                    staged = new File(line.substring(DownloadProgressBar.FILEPATH_TAG.length()).strip());
+                }
+                progressBar.processLog(line, isError);
+                
+            } finally {
+                if (threadLog == null) {
+                    jobLog.remove();
+                } else {
+                    jobLog.set(threadLog);
+                }
+            }
+        }
+        
+        /**
+         * Finishes the download of the last Video, once the executable has exited.
+         */
+        public synchronized void finish() {
+            finishItem();
+        }
+        
+        /**
+         * Retries the Videos that failed with an error that should be retried using browser cookies,
+         * and downloads the Videos that the executable never reached individually.
+         */
+        public void downloadRemaining() {
+            retries.forEach((retryVideo, retryResponse) -> report(retryVideo,
+                    Optional.ofNullable(downloadYoutubeVideo(retryVideo, true)).orElse(retryResponse)));
+            
+            batch.stream()
+                    .filter(e -> !started.contains(e))
+                    .forEachOrdered(remaining -> {
+                        logDownloading(remaining, videos);
+                        report(remaining, downloadYoutubeVideo(remaining));
+                    });
+        }
+        
+        /**
+         * Begins the download of the next Video in the batch.
+         *
+         * @param next The Video.
+         */
+        private void startItem(Video next) {
+            finishItem();
+            
+            started.add(next);
+            video = next;
+            response = new DownloadResponse();
+            lines.clear();
+            staged = null;
+            
+            logDownloading(video, videos);
+            progressBar = new DownloadProgressBar(video, response, (log != null));
+        }
+        
+        /**
+         * Finishes the download of the current Video in the batch, and moves its output into place.
+         */
+        private void finishItem() {
+            if (video == null) {
+                return;
+            }
+            
+            response.processCmdResponse(StringUtility.unsplitLines(new ArrayList<>(lines)));
+            if (response.getStatus() == DownloadResponseStatus.SUCCESS) {
+                moveOutput();
+            }
+            progressBar.finishDownload();
+            
+            if (StringUtility.containsAnyIgnoreCase(response.getError(), RETRY_WITH_COOKIES_ERRORS) &&
+                    !Configurator.Config.neverUseBrowserCookies && !StringUtility.isNullOrBlank(Config.browser)) {
+                retries.put(video, response);
+            } else {
+                report(video, response);
+            }
+            video = null;
+        }
+        
+        /**
+         * Moves the file saved by the executable to the output of the current Video.
+         */
+        private void moveOutput() {
+            final File output = video.getOutput();
+            if (staged != null) {
+                try {
+                    if (!staged.equals(output)) {
+                        Files.move(staged.toPath(), output.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                    }
+                    return;
+                } catch (IOException ignored) {
+                }
+            }
+            
+            response.setError("Could not move the download to: " + PathUtils.path(output));
+            response.setMessage(response.getError());
+            response.setStatus(DownloadResponseStatus.FAILURE);
+        }
+        
+        /**
+         * Logs the Download Response of a Video and performs the callback.
+         *
+         * @param video    The Video.
+         * @param response The Download Response.
+         */
+        private void report(Video video, DownloadResponse response) {
+            final String printedResponse = response.printedResponse();
+            log(() -> LogUtils.log(logger, (response.getStatus().isBad() ? LogUtils.LogLevel.WARN : LogUtils.LogLevel.INFO),
+                    (LogUtils.INDENT + printedResponse)));
+            
+            try {
+                callback.accept(video, response);
+            } catch (Exception e) {
+                log(() -> logger.error(Color.bad("Failed to download: ") + Color.quoteVideoTitle(video), e));
+            }
+        }
+        
+    }
+    
     /**
      * A progress bar for Youtube download operations.
      */
@@ -533,34 +1073,64 @@ public final class DownloadUtils {
         //Constants
         
         /**
-         * A regex pattern matching a 'download progress' line from the executable output.
+         * The tag of a 'download' line from the executable output.
          */
-        private static final Pattern PROGRESS_PATTERN = Pattern.compile("^\\[download]\\s*(?<percentage>\\d+\\.\\d+)%\\s*of\\s*~?\\s*(?<total>\\d+\\.\\d+)(?<units>.iB).*$");
+        private static final String DOWNLOAD_TAG = "[download]";
         
         /**
-         * A regex pattern matching a 'resuming download' line from the executable output.
+         * The tag of a 'merger' line from the executable output.
          */
-        private static final Pattern RESUME_PATTERN = Pattern.compile("^\\[download]\\s*Resuming\\s*download\\s*at\\s*byte\\s*(?<initialProgress>\\d+).*$");
+        private static final String MERGER_TAG = "[Merger]";
         
         /**
-         * A regex pattern matching a 'video already exists' line from the executable output.
+         * The tag of a 'extract audio' line from the executable output.
          */
-        private static final Pattern EXISTS_PATTERN = Pattern.compile("^\\[download]\\s(?<output>.+)\\shas\\salready\\sbeen\\sdownloaded$");
+        private static final String EXTRACT_AUDIO_TAG = "[ExtractAudio]";
         
         /**
-         * A regex pattern matching a 'output destination' line from the executable output.
+         * The tag of a 'progress' line printed with the progress template.
          */
-        private static final Pattern DESTINATION_PATTERN = Pattern.compile("^\\[download]\\s*Destination:\\s*(?<destination>.+)$");
+        private static final String PROGRESS_TAG = "[progress]";
         
         /**
-         * A regex pattern matching a 'merging formats' line from the executable output.
+         * The tag of a 'file path' line printed with the file path template.
          */
-        private static final Pattern MERGE_PATTERN = Pattern.compile("^\\[Merger]\\s*Merging\\s*formats\\s*into\\s*\"(?<merge>.+)\"$");
+        private static final String FILEPATH_TAG = "[filepath]";
         
         /**
-         * A regex pattern matching a 'extracting audio' line from the executable output.
+         * The template used by the executable to print the progress of a download, as the downloaded bytes, the total bytes, and the estimated total bytes.
          */
-        private static final Pattern EXTRACT_AUDIO_PATTERN = Pattern.compile("^\\[ExtractAudio]\\s*Destination:\\s*(?<audio>.+)$");
+        private static final String PROGRESS_TEMPLATE = "download:" + PROGRESS_TAG + " %(progress.downloaded_bytes)s %(progress.total_bytes)s %(progress.total_bytes_estimate)s";
+        
+        /**
+         * The template used by the executable to print the final path of the output once it has been moved into place.
+         */
+        private static final String FILEPATH_TEMPLATE = "after_move:" + FILEPATH_TAG + " %(filepath)s";
+        
+        /**
+         * The value printed by the executable for a field of a template that is not available.
+         */
+        private static final String NOT_AVAILABLE = "NA";
+        
+        /**
+         * The message of a 'resuming download' line from the executable output.
+         */
+        private static final String RESUME_MESSAGE = "Resuming download at byte";
+        
+        /**
+         * The suffix of a 'video already exists' line from the executable output.
+         */
+        private static final String EXISTS_MESSAGE = " has already been downloaded";
+        
+        /**
+         * The message of a 'output destination' or 'extracting audio' line from the executable output.
+         */
+        private static final String DESTINATION_MESSAGE = "Destination:";
+        
+        /**
+         * The message of a 'merging formats' line from the executable output.
+         */
+        private static final String MERGE_MESSAGE = "Merging formats into";
         
         
         //Fields
@@ -580,11 +1150,21 @@ public final class DownloadUtils {
          */
         private final AtomicBoolean newPart = new AtomicBoolean(false);
         
+        /**
+         * A counter storing the progress of the file part being downloaded, as reported by the progress template.
+         */
+        private final AtomicLong partProgress = new AtomicLong(0L);
+        
         /**
          * A counter storing the saved progress of the download.
          */
         private final AtomicLong saveProgress = new AtomicLong(0L);
         
+        /**
+         * A flag indicating whether the progress bar is displayed or not.
+         */
+        private final boolean display;
+        
         
         //Constructors
         
@@ -593,12 +1173,14 @@ public final class DownloadUtils {
          *
          * @param video    The Video being downloaded.
          * @param response the Download Response.
+         * @param buffered Whether the output of the download is being buffered or not.
          */
-        public DownloadProgressBar(Video video, DownloadResponse response) {
-            super("", 0L, 32, "KB", (LogUtils.Config.showProgressBar && !LogUtils.Config.showWork));
+        public DownloadProgressBar(Video video, DownloadResponse response, boolean buffered) {
+            super("", 0L, 32, "KB", (LogUtils.Config.showProgressBar && !LogUtils.Config.showWork && !buffered));
             
             this.video = video;
             this.response = response;
+            this.display = LogUtils.Config.showProgressBar && !LogUtils.Config.showWork && !buffered;
             
             setIndent(LogUtils.INDENT_WIDTH);
             setColors(Color.Config.progressBarBase, Color.Config.progressBarGood, Color.Config.progressBarBad);
@@ -616,49 +1198,133 @@ public final class DownloadUtils {
          */
         @Override
         public synchronized boolean processLog(String log, boolean isError) {
-            logger.trace(LogUtils.Config.showWork ? Color.log(log) : log);
+            log(() -> logger.trace(LogUtils.Config.showWork ? Color.log(log) : log));
+            
+            if (log.startsWith(PROGRESS_TAG)) {
+                return processProgressLog(log, PROGRESS_TAG.length());
+            } else if (log.startsWith(FILEPATH_TAG)) {
+                return processFilepathLog(log, skipWhitespace(log, FILEPATH_TAG.length()));
+            } else if (log.startsWith(DOWNLOAD_TAG)) {
+                return processDownloadLog(log, DOWNLOAD_TAG.length());
+            } else if (log.startsWith(MERGER_TAG)) {
+                return processMergerLog(log, skipWhitespace(log, MERGER_TAG.length()));
+            } else if (log.startsWith(EXTRACT_AUDIO_TAG)) {
+                return processExtractAudioLog(log, skipWhitespace(log, EXTRACT_AUDIO_TAG.length()));
+            }
+            return false;
+        }
+        
+        /**
+         * Processes a 'progress' line printed with the progress template.<br>
+         * A new file part is detected when the executable reports one, or when the downloaded bytes start over.
+         *
+         * @param log   The download log data.
+         * @param start The index of the end of the tag of the line.
+         * @return Whether the progress bar was updated or not.
+         */
+        private boolean processProgressLog(String log, int start) {
+            if (!isDisplay()) {
+                return false;
+            }
+            
+            final String[] fields = log.substring(skipWhitespace(log, start)).split(" ");
+            if (fields.length < 3) {
+                return false;
+            }
+            
+            final Double downloaded = parseTemplateNumber(fields[0]);
+            final Double total = Optional.ofNullable(parseTemplateNumber(fields[1])).orElseGet(() -> parseTemplateNumber(fields[2]));
+            if ((downloaded == null) || (total == null) || (total <= 0)) {
+                return false;
+            }
+            
+            final long partProgress = (long) (downloaded / 1024);
+            final boolean restarted = (partProgress < getPartProgress().getAndSet(partProgress));
+            if (getNewPart().compareAndSet(true, false) || restarted) {
+                getSaveProgress().set(getProgress());
+            }
+            updateTotal((long) (total / 1024));
+            
+            return update(partProgress + getSaveProgress().get());
+        }
+        
+        /**
+         * Processes a 'file path' line printed with the file path template.
+         *
+         * @param log   The download log data.
+         * @param start The index of the file path in the line.
+         * @return Whether the progress bar was updated or not.
+         */
+        private boolean processFilepathLog(String log, int start) {
+            if (start >= log.length()) {
+                return false;
+            }
             
-            if (!LogUtils.Config.showWork && LogUtils.Config.showProgressBar) {
+            getVideo().updateFormat(log.substring(start));
+            return true;
+        }
+        
+        /**
+         * Processes a 'download' line from the executable output.
+         *
+         * @param log   The download log data.
+         * @param start The index of the end of the tag of the line.
+         * @return Whether the progress bar was updated or not.
+         */
+        private boolean processDownloadLog(String log, int start) {
+            final int messageStart = skipWhitespace(log, start);
+            
+            if (isDisplay()) {
                 
-                if (getInitialProgress() == 0) {
-                    final Matcher resumeMatcher = RESUME_PATTERN.matcher(log);
-                    if (resumeMatcher.matches()) {
-                        final long initialProgress = Long.parseLong(resumeMatcher.group("initialProgress")) / 1024;
+                if ((getInitialProgress() == 0) && log.startsWith(RESUME_MESSAGE, messageStart)) {
+                    final int byteStart = skipWhitespace(log, (messageStart + RESUME_MESSAGE.length()));
+                    final int byteEnd = scanDigits(log, byteStart);
+                    if (byteEnd > byteStart) {
+                        final long initialProgress = Long.parseLong(log.substring(byteStart, byteEnd)) / 1024;
                         return defineInitialProgress(initialProgress);
                     }
                 }
                 
-                final Matcher progressMatcher = PROGRESS_PATTERN.matcher(log);
-                if (progressMatcher.matches()) {
-                    final double percentage = Double.parseDouble(progressMatcher.group("percentage")) / 100.0;
-                    final double total = Double.parseDouble(progressMatcher.group("total"));
-                    final String units = progressMatcher.group("units").replace("i", "").toUpperCase();
-                    
-                    long scale = 1L;
-                    switch (units) {
-                        case "TB":
-                            scale *= 1024;
-                        case "GB":
-                            scale *= 1024;
-                        case "MB":
-                            scale *= 1024;
-                        case "KB":
-                        default:
-                    }
-                    
-                    if (getNewPart().compareAndSet(true, false)) {
-                        updateTotal((long) (total * scale));
-                        getSaveProgress().set(getProgress());
+                final int percentageEnd = scanDecimal(log, messageStart);
+                if ((percentageEnd > 0) && log.startsWith("%", percentageEnd)) {
+                    int totalStart = skipWhitespace(log, (percentageEnd + 1));
+                    if (log.startsWith("of", totalStart)) {
+                        totalStart = skipWhitespace(log, (totalStart + 2));
+                        totalStart = (log.startsWith("~", totalStart)) ? skipWhitespace(log, (totalStart + 1)) : totalStart;
+                        
+                        final int totalEnd = scanDecimal(log, totalStart);
+                        if ((totalEnd > 0) && ((totalEnd + 3) <= log.length()) &&
+                                (log.charAt(totalEnd + 1) == 'i') && (log.charAt(totalEnd + 2) == 'B')) {
+                            final double percentage = Double.parseDouble(log.substring(messageStart, percentageEnd)) / 100.0;
+                            final double total = Double.parseDouble(log.substring(totalStart, totalEnd));
+                            
+                            long scale = 1L;
+                            switch (Character.toUpperCase(log.charAt(totalEnd))) {
+                                case 'T':
+                                    scale *= 1024;
+                                case 'G':
+                                    scale *= 1024;
+                                case 'M':
+                                    scale *= 1024;
+                                case 'K':
+                                default:
+                            }
+                            
+                            if (getNewPart().compareAndSet(true, false)) {
+                                updateTotal((long) (total * scale));
+                                getSaveProgress().set(getProgress());
+                            }
+                            
+                            final long progress = ((long) (percentage * total * scale)) + getSaveProgress().get();
+                            return update(progress);
+                        }
                     }
-                    
-                    final long progress = ((long) (percentage * total * scale)) + getSaveProgress().get();
-                    return update(progress);
                 }
             }
             
-            final Matcher existsMatcher = EXISTS_PATTERN.matcher(log);
-            if (existsMatcher.matches()) {
-                getVideo().updateFormat(existsMatcher.group("output"));
+            if ((start < log.length()) && Character.isWhitespace(log.charAt(start)) && log.endsWith(EXISTS_MESSAGE) &&
+                    ((log.length() - EXISTS_MESSAGE.length()) > (start + 1))) {
+                updateFormat(log.substring((start + 1), (log.length() - EXISTS_MESSAGE.length())));
                 
                 final long size = getVideo().getOutput().length() / 1024;
                 updateTotal(size);
@@ -668,42 +1334,93 @@ public final class DownloadUtils {
                 return true;
             }
             
-            final Matcher destinationMatcher = DESTINATION_PATTERN.matcher(log);
-            if (destinationMatcher.matches()) {
-                getVideo().updateFormat(destinationMatcher.group("destination"));
-                return getNewPart().compareAndSet(false, true);
+            if (log.startsWith(DESTINATION_MESSAGE, messageStart)) {
+                final int destinationStart = skipWhitespace(log, (messageStart + DESTINATION_MESSAGE.length()));
+                if (destinationStart < log.length()) {
+                    updateFormat(log.substring(destinationStart));
+                    return getNewPart().compareAndSet(false, true);
+                }
             }
             
-            final Matcher mergeMatcher = MERGE_PATTERN.matcher(log);
-            if (mergeMatcher.matches()) {
-                getVideo().updateFormat(mergeMatcher.group("merge"));
-                
-                if (!isCompleted()) {
-                    final String completionMessage = Color.good("Merging Formats" +
-                            (Optional.ofNullable(getVideo().getConfig()).map(ChannelEntry::isSaveAsAudio).orElse(Config.asAudio) ? " and Extracting Audio" : "") + "...");
-                    logger.info(StringUtility.removeConsoleEscapeCharacters(completionMessage));
+            return false;
+        }
+        
+        /**
+         * Processes a 'merger' line from the executable output.
+         *
+         * @param log   The download log data.
+         * @param start The index of the message of the line.
+         * @return Whether the progress bar was updated or not.
+         */
+        private boolean processMergerLog(String log, int start) {
+            if (!log.startsWith(MERGE_MESSAGE, start)) {
+                return false;
+            }
+            
+            final int mergeStart = skipWhitespace(log, (start + MERGE_MESSAGE.length()));
+            if (!log.startsWith("\"", mergeStart) || !log.endsWith("\"") || (log.length() < (mergeStart + 3))) {
+                return false;
+            }
+            updateFormat(log.substring((mergeStart + 1), (log.length() - 1)));
+            
+            if (!isCompleted()) {
+                final String completionMessage = Color.good("Merging Formats" +
+                        (Optional.ofNullable(getVideo().getConfig()).map(ChannelEntry::isSaveAsAudio).orElse(Config.asAudio) ? " and Extracting Audio" : "") + "...");
+                log(() -> logger.info(StringUtility.removeConsoleEscapeCharacters(completionMessage)));
+                if (isDisplay()) {
                     complete(true, completionMessage);
                 }
-                
-                getResponse().setMessage(null);
-                return true;
             }
             
-            final Matcher extractAudioMatcher = EXTRACT_AUDIO_PATTERN.matcher(log);
-            if (extractAudioMatcher.matches()) {
-                getVideo().updateFormat(extractAudioMatcher.group("audio"));
-                
-                if (!isCompleted()) {
-                    final String completionMessage = Color.good("Extracting Audio...");
-                    logger.info(StringUtility.removeConsoleEscapeCharacters(completionMessage));
+            getResponse().setMessage(null);
+            return true;
+        }
+        
+        /**
+         * Processes a 'extract audio' line from the executable output.
+         *
+         * @param log   The download log data.
+         * @param start The index of the message of the line.
+         * @return Whether the progress bar was updated or not.
+         */
+        private boolean processExtractAudioLog(String log, int start) {
+            if (!log.startsWith(DESTINATION_MESSAGE, start)) {
+                return false;
+            }
+            
+            final int audioStart = skipWhitespace(log, (start + DESTINATION_MESSAGE.length()));
+            if (audioStart >= log.length()) {
+                return false;
+            }
+            updateFormat(log.substring(audioStart));
+            
+            if (!isCompleted()) {
+                final String completionMessage = Color.good("Extracting Audio...");
+                log(() -> logger.info(StringUtility.removeConsoleEscapeCharacters(completionMessage)));
+                if (isDisplay()) {
                     complete(true, completionMessage);
                 }
-                
-                getResponse().setMessage(null);
-                return true;
             }
             
-            return false;
+            getResponse().setMessage(null);
+            return true;
+        }
+        
+        /**
+         * Updates the format of the Video being downloaded, if the format of the output has changed.<br>
+         * The parts of a download that are reported with a format id, such as 'f137.mp4', are merged into the final output later, so they are ignored.
+         *
+         * @param outputName The name of the output reported by the executable.
+         */
+        private void updateFormat(String outputName) {
+            final String format = FileUtils.getFormat(outputName);
+            if (isFormatPart(format)) {
+                return;
+            }
+            
+            if (format.isBlank() || !format.equals(FileUtils.getFormat(getVideo().getOutput().getName()))) {
+                getVideo().updateFormat(outputName);
+            }
         }
         
         /**
@@ -712,18 +1429,18 @@ public final class DownloadUtils {
          * @param exception The exception that ended the download, or null if the download ended naturally.
          */
         protected synchronized void finishDownload(Exception exception) {
-            if (LogUtils.Config.showProgressBar && !LogUtils.Config.showWork) {
+            if (isDisplay()) {
                 if (!isCompleted()) {
                     if (((exception != null) && (getProgress() > 0)) || (getResponse().getError() != null)) {
                         final String errorMessage = Color.bad(getResponse().getMessage());
                         if (!errorMessage.isBlank()) {
-                            logger.warn(StringUtility.removeConsoleEscapeCharacters(errorMessage));
+                            log(() -> logger.warn(StringUtility.removeConsoleEscapeCharacters(errorMessage)));
                         }
                         fail(true, errorMessage);
                     } else {
                         final String completionMessage = Optional.ofNullable(getResponse().getMessage()).map(Color::good).orElse("");
                         if (!completionMessage.isBlank()) {
-                            logger.info(StringUtility.removeConsoleEscapeCharacters(completionMessage));
+                            log(() -> logger.info(StringUtility.removeConsoleEscapeCharacters(completionMessage)));
                         }
                         complete(true, completionMessage);
                     }
@@ -731,7 +1448,7 @@ public final class DownloadUtils {
                 getResponse().setMessage(null);
             }
             if (exception != null) {
-                logger.warn(Color.bad(exception.getStackTrace()));
+                log(() -> logger.warn(Color.bad(exception.getStackTrace())));
             }
         }
         
@@ -780,6 +1497,15 @@ public final class DownloadUtils {
             return newPart;
         }
         
+        /**
+         * Returns the counter storing the progress of the file part being downloaded, as reported by the progress template.
+         *
+         * @return The counter storing the progress of the file part being downloaded.
+         */
+        protected AtomicLong getPartProgress() {
+            return partProgress;
+        }
+        
         /**
          * Returns a counter storing the saved progress of the download.
          *
@@ -789,6 +1515,93 @@ public final class DownloadUtils {
             return saveProgress;
         }
         
+        /**
+         * Returns whether the progress bar is displayed or not.
+         *
+         * @return Whether the progress bar is displayed or not.
+         */
+        protected boolean isDisplay() {
+            return display;
+        }
+        
+        
+        //Static Methods
+        
+        /**
+         * Returns the index after the whitespace at a position in a line.
+         *
+         * @param log  The line.
+         * @param from The position in the line.
+         * @return The index of the first character that is not whitespace, at or after the position.
+         */
+        private static int skipWhitespace(String log, int from) {
+            int index = from;
+            while ((index < log.length()) && Character.isWhitespace(log.charAt(index))) {
+                index++;
+            }
+            return index;
+        }
+        
+        /**
+         * Returns the index after the digits at a position in a line.
+         *
+         * @param log  The line.
+         * @param from The position in the line.
+         * @return The index of the first character that is not a digit, at or after the position.
+         */
+        private static int scanDigits(String log, int from) {
+            int index = from;
+            while ((index < log.length()) && (log.charAt(index) >= '0') && (log.charAt(index) <= '9')) {
+                index++;
+            }
+            return index;
+        }
+        
+        /**
+         * Returns the index after a decimal number, with digits on both sides of the decimal point, at a position in a line.
+         *
+         * @param log  The line.
+         * @param from The position in the line.
+         * @return The index of the first character after the decimal number, or -1 if there is no decimal number at the position.
+         */
+        private static int scanDecimal(String log, int from) {
+            final int point = scanDigits(log, from);
+            if ((point == from) || (point >= log.length()) || (log.charAt(point) != '.')) {
+                return -1;
+            }
+            
+            final int end = scanDigits(log, (point + 1));
+            return (end == (point + 1)) ? -1 : end;
+        }
+        
+        /**
+         * Parses a number printed in a field of a template.
+         *
+         * @param field The field.
+         * @return The number, or null if the field is not available.
+         */
+        private static Double parseTemplateNumber(String field) {
+            if (field.isEmpty() || field.equals(NOT_AVAILABLE)) {
+                return null;
+            }
+            try {
+                return Double.parseDouble(field);
+            } catch (NumberFormatException ignored) {
+                return null;
+            }
+        }
+        
+        /**
+         * Determines whether a format is the format of a part of a download, such as 'f137.mp4'.
+         *
+         * @param format The format.
+         * @return Whether the format is the format of a part of a download or not.
+         */
+        private static boolean isFormatPart(String format) {
+            final int idEnd = scanDigits(format, 1);
+            return format.startsWith("f") && (idEnd > 1) && (idEnd < format.length()) && (format.charAt(idEnd) == '.');
+        }
+        
     }
     
 }
@@ -8,13 +8,23 @@
 package youtube.util;
 
 import java.io.File;
+import java.io.IOException;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.text.Normalizer;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -86,6 +96,11 @@ public final class FileUtils {
      */
     public static final String DATA_FILE_FORMAT = "json";
     
+    /**
+     * The page data file format.
+     */
+    public static final String PAGE_FILE_FORMAT = "jsonl";
+    
     /**
      * The xml file format.
      */
@@ -134,6 +149,11 @@ public final class FileUtils {
      */
     private static final AtomicBoolean loaded = new AtomicBoolean(false);
     
+    /**
+     * A cache of the listings of the directories searched for video files, indexed by title key and format class.
+     */
+    private static final Map<File, Map<String, List<File>>> directoryIndex = new ConcurrentHashMap<>();
+    
     
     //Static Methods
     
@@ -163,18 +183,66 @@ public final class FileUtils {
     public static File findVideoFile(File output) {
         return Optional.ofNullable(output)
                 .filter(File::exists).map(File::getParentFile)
-                .filter(File::exists).map(Filesystem::getFiles)
-                .map(files -> files.stream().map(FileUtils::getCanonical)
-                        .filter(e -> getTitleKey(e.getName()).equals(getTitleKey(output.getName())))
+                .filter(File::exists).map(FileUtils::getDirectoryIndex)
+                .map(index -> index.getOrDefault(getVideoFileKey(output.getName()), Collections.emptyList()).stream()
+                        .filter(File::isFile).map(FileUtils::getCanonical)
                         .filter(File::exists).filter(e -> !Filesystem.isEmpty(e))
-                        .filter(e -> getFormat(e.getName()).equals(getFormat(output.getName())) ||
-                                (isVideoFormat(e.getName()) && isVideoFormat(output.getName())) ||
-                                (isAudioFormat(e.getName()) && isAudioFormat(output.getName()))
-                        ).collect(Collectors.toList()))
+                        .collect(Collectors.toList()))
                 .filter(e -> (e.size() == 1)).map(e -> e.get(0))
                 .orElse(null);
     }
     
+    /**
+     * Returns the index of the files in a directory by title key and format class.<br>
+     * The directory is listed once and cached until it is invalidated.
+     *
+     * @param directory The directory.
+     * @return The index of the files in the directory, or null if the directory could not be listed.
+     * @see #invalidateDirectoryIndex(File)
+     */
+    private static Map<String, List<File>> getDirectoryIndex(File directory) {
+        return directoryIndex.computeIfAbsent(directory.getAbsoluteFile(), dir -> {
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(dir.toPath())) {
+                final Map<String, List<File>> index = new HashMap<>();
+                for (Path path : files) {
+                    final File file = path.toFile();
+                    index.computeIfAbsent(getVideoFileKey(file.getName()), key -> new ArrayList<>()).add(file);
+                }
+                return index;
+                
+            } catch (IOException | DirectoryIteratorException e) {
+                logger.warn(Color.bad("Failed to list directory: ") + Color.quoteFilePath(dir), e);
+                return null;
+            }
+        });
+    }
+    
+    /**
+     * Invalidates the cached index of the files in a directory.
+     *
+     * @param directory The directory.
+     * @see #getDirectoryIndex(File)
+     */
+    public static void invalidateDirectoryIndex(File directory) {
+        Optional.ofNullable(directory)
+                .map(File::getAbsoluteFile)
+                .ifPresent(directoryIndex::remove);
+    }
+    
+    /**
+     * Returns the key used to match a video file in a directory index.<br>
+     * Files match when they have the same title key and are both video files, both audio files, or have the same format.
+     *
+     * @param fileName The file name.
+     * @return The video file key.
+     */
+    private static String getVideoFileKey(String fileName) {
+        return getTitleKey(fileName) + ':' +
+                (isVideoFormat(fileName) ? "video" :
+                 isAudioFormat(fileName) ? "audio" :
+                 getFormat(fileName));
+    }
+    
     /**
      * Cleans the title of a Youtube video.
      *
@@ -268,6 +336,7 @@ public final class FileUtils {
      * @return Whether the file was successfully deleted or recycled.
      */
     public static boolean delete(File file) {
+        Optional.ofNullable(file).map(File::getParentFile).ifPresent(FileUtils::invalidateDirectoryIndex);
         return Configurator.Config.deleteToRecyclingBin ?
                Desktop.trash(file) :
                Filesystem.delete(file);
@@ -14,8 +14,10 @@ import java.util.Date;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.Callable;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -176,6 +178,11 @@ public final class LogUtils {
      */
     private static final AtomicBoolean loaded = new AtomicBoolean(false);
     
+    /**
+     * The buffer that console log entries produced on the current thread are deferred to, or null if console logging is not deferred on the current thread.
+     */
+    private static final ThreadLocal<Consumer<Runnable>> consoleLogBuffer = new ThreadLocal<>();
+    
     
     //Static Methods
     
@@ -209,6 +216,62 @@ public final class LogUtils {
         }
     }
     
+    /**
+     * Defers the console log entries produced on the current thread to a buffer, until the buffer is removed.
+     *
+     * @param buffer The buffer to defer console log entries to, or null to stop deferring console log entries.
+     */
+    public static void bufferConsoleLog(Consumer<Runnable> buffer) {
+        if (buffer == null) {
+            consoleLogBuffer.remove();
+        } else {
+            consoleLogBuffer.set(buffer);
+        }
+    }
+    
+    /**
+     * Returns the buffer that console log entries produced on the current thread are deferred to.
+     *
+     * @return The buffer that console log entries are deferred to, or null if console logging is not deferred on the current thread.
+     */
+    public static Consumer<Runnable> getConsoleLogBuffer() {
+        return consoleLogBuffer.get();
+    }
+    
+    /**
+     * Performs a task with the console log entries it produces on the current thread deferred to a buffer.<br>
+     * This is used to carry the buffer of a submitting thread over to the thread that performs the task.
+     *
+     * @param buffer The buffer to defer console log entries to, or null to not defer console log entries.
+     * @param task   The task.
+     * @param <T>    The type of the result of the task.
+     * @return The result of the task.
+     * @throws Exception When the task throws an exception.
+     */
+    public static <T> T callWithConsoleLogBuffer(Consumer<Runnable> buffer, Callable<T> task) throws Exception {
+        final Consumer<Runnable> previous = consoleLogBuffer.get();
+        bufferConsoleLog(buffer);
+        try {
+            return task.call();
+        } finally {
+            bufferConsoleLog(previous);
+        }
+    }
+    
+    /**
+     * Defers a console log entry, if console logging is being deferred on the current thread.
+     *
+     * @param entry The console log entry.
+     * @return Whether the console log entry was deferred or not.
+     */
+    public static boolean deferConsoleLog(Runnable entry) {
+        return Optional.ofNullable(consoleLogBuffer.get())
+                .map(buffer -> {
+                    buffer.accept(entry);
+                    return true;
+                }).orElse(false);
+    }
+    
     /**
      * Logs a message.
      *
@@ -53,6 +53,7 @@ public final class Utils {
                 ApiUtils.initApi() &&
                 ExecutableUtils.initExecutable() &&
                 DownloadUtils.initDownloader() &&
+                WorkerUtils.initWorkers() &&
                 BackupUtils.initBackup();
     }
     
@@ -10,12 +10,14 @@ package youtube.util;
 import java.text.SimpleDateFormat;
 import java.util.Collection;
 import java.util.Date;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 import commons.access.Internet;
 import commons.object.collection.MapUtility;
@@ -273,6 +275,28 @@ public final class WebUtils {
         return new Video(fetchVideo(url, true));
     }
     
+    /**
+     * Prefetches the Videos from a list of Youtube video urls from the Youtube API in batches, so that later fetches are served from the cache.
+     *
+     * @param urls The list of video urls.
+     */
+    public static void prefetchVideos(Collection<String> urls) {
+        if (Configurator.Config.preventVideoFetch) {
+            return;
+        }
+        
+        final List<String> videoIds = urls.stream()
+                .map(WebUtils::getVideoId).filter(id -> !id.isBlank())
+                .distinct().collect(Collectors.toList());
+        if (videoIds.size() > 1) {
+            try {
+                ApiUtils.fetchVideosData(videoIds);
+            } catch (Exception e) {
+                logger.warn(Color.bad("Failed to prefetch the details of ") + Color.number(videoIds.size()) + Color.bad(" videos"), e);
+            }
+        }
+    }
+    
     /**
      * Extracts the video id from a Youtube video url.
      *
@@ -0,0 +1,571 @@
+/*
+ * File:    WorkerUtils.java
+ * Package: youtube.util
+ * Author:  Zachary Gill
+ * Repo:    https://github.com/ZGorlock/YoutubeDownloader
+ */
+
+package youtube.util;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+
+import commons.access.CmdLine;
+import commons.access.OperatingSystem;
+import commons.access.Project;
+import commons.lambda.function.checked.CheckedFunction;
+import commons.object.string.StringUtility;
+import org.json.simple.JSONValue;
+import org.json.simple.parser.JSONParser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import youtube.config.Color;
+import youtube.config.Configurator;
+
+/**
+ * Provides persistent download worker utility methods for the Youtube Downloader.<br>
+ * A download worker is a long-lived process that keeps the executable loaded, and performs download jobs sent to it as json lines on its stdin.
+ */
+public final class WorkerUtils {
+    
+    //Logger
+    
+    /**
+     * The logger.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(WorkerUtils.class);
+    
+    
+    //Constants
+    
+    /**
+     * The script run by the default download worker command.
+     */
+    public static final File WORKER_SCRIPT = new File(new File(Project.RESOURCES_DIR, "worker"), "yt-dlp-worker.py");
+    
+    /**
+     * The tag of the line a download worker prints once it has started and is ready for download jobs.
+     */
+    private static final String READY_TAG = "[ready]";
+    
+    /**
+     * The tag of the line a download worker prints once it has completed a download job.
+     */
+    private static final String JOB_TAG = "[job]";
+    
+    /**
+     * The error printed in the output of a download job that did not complete before the job timeout.
+     */
+    public static final String TIMEOUT_ERROR = "ERROR: The download worker timed out";
+    
+    /**
+     * The marker queued when the output of a download worker has ended.
+     */
+    private static final Object END_OF_OUTPUT = new Object();
+    
+    
+    //Static Fields
+    
+    /**
+     * A flag indicating whether the download workers have been loaded yet or not.
+     */
+    private static final AtomicBoolean loaded = new AtomicBoolean(false);
+    
+    /**
+     * A flag indicating whether the download workers have been disabled because one could not be started.
+     */
+    private static final AtomicBoolean disabled = new AtomicBoolean(false);
+    
+    /**
+     * The download workers that are waiting for a download job.
+     */
+    private static final BlockingQueue<Worker> idleWorkers = new LinkedBlockingQueue<>();
+    
+    /**
+     * The download workers that are running.
+     */
+    private static final Set<Worker> workers = ConcurrentHashMap.newKeySet();
+    
+    /**
+     * A counter of the download workers that are running or starting.
+     */
+    private static final AtomicInteger workerCount = new AtomicInteger(0);
+    
+    /**
+     * A counter of the download jobs that have been sent to the download workers.
+     */
+    private static final AtomicLong jobCount = new AtomicLong(0L);
+    
+    //Stops the download workers that are still running at the end of the session
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> workers.forEach(Worker::stop)));
+    }
+    
+    
+    //Static Methods
+    
+    /**
+     * Initializes the download workers.
+     *
+     * @return Whether the download workers were successfully initialized.
+     */
+    public static boolean initWorkers() {
+        if (loaded.compareAndSet(false, true)) {
+            logger.trace(LogUtils.NEWLINE);
+            logger.debug(Color.log("Initializing Download Workers..."));
+            
+            Config.init();
+            
+            return true;
+        }
+        return false;
+    }
+    
+    /**
+     * Returns whether download jobs should be performed by the download workers.
+     *
+     * @return Whether download jobs should be performed by the download workers.
+     */
+    public static boolean isEnabled() {
+        return (getMaxWorkers() > 0) && !disabled.get() && !ExecutableUtils.Config.executable.isDeprecated();
+    }
+    
+    /**
+     * Returns the maximum number of download workers that may run at the same time.
+     *
+     * @return The maximum number of download workers that may run at the same time.
+     */
+    public static int getMaxWorkers() {
+        return Math.max(0, Optional.ofNullable(Config.workers)
+                .orElse(Config.DEFAULT_WORKERS).intValue());
+    }
+    
+    /**
+     * Returns the command that starts a download worker.
+     *
+     * @return The command that starts a download worker.
+     */
+    public static String getWorkerCommand() {
+        return Optional.ofNullable(Config.workerCommand)
+                .filter(e -> !StringUtility.isNullOrBlank(e))
+                .orElseGet(() -> String.join(" ",
+                        (OperatingSystem.isWindows() ? "python" : "python3"), "-u",
+                        StringUtility.quote(WORKER_SCRIPT.getAbsolutePath()),
+                        StringUtility.quote(ExecutableUtils.Config.executable.getExe().getAbsolutePath())));
+    }
+    
+    /**
+     * Performs a download job on a download worker.
+     *
+     * @param cmd         The command the download job replaces; the arguments after the executable are sent to the download worker.
+     * @param lineHandler The handler to send each line of the output of the download job to, along with whether it is an error line.
+     * @param tailLines   The maximum number of lines of the output to retain, or -1 to retain all of it.
+     * @return The retained output of the download job, or null if no download worker could perform the download job.
+     */
+    public static String executeJob(String cmd, BiConsumer<String, Boolean> lineHandler, int tailLines) {
+        final List<String> arguments = parseArguments(cmd);
+        if (arguments.isEmpty()) {
+            return null;
+        }
+        arguments.remove(0);
+        
+        final Worker worker = acquireWorker();
+        if (worker == null) {
+            return null;
+        }
+        
+        try {
+            return worker.execute(arguments, lineHandler, tailLines);
+        } finally {
+            releaseWorker(worker);
+        }
+    }
+    
+    /**
+     * Acquires an idle download worker, starting a new one if fewer than the maximum are running.
+     *
+     * @return The download worker, or null if a download worker could not be started.
+     */
+    private static Worker acquireWorker() {
+        while (isEnabled()) {
+            final Worker idle = idleWorkers.poll();
+            if (idle != null) {
+                if (idle.isAlive()) {
+                    return idle;
+                }
+                releaseWorker(idle);
+                continue;
+            }
+            
+            if (workerCount.incrementAndGet() <= getMaxWorkers()) {
+                try {
+                    return new Worker();
+                } catch (IOException e) {
+                    workerCount.decrementAndGet();
+                    logger.warn(Color.bad("Could not start a download worker: ") + Color.quoted(getWorkerCommand()), e);
+                    disabled.set(true);
+                    return null;
+                }
+            }
+            workerCount.decrementAndGet();
+            
+            try {
+                final Worker waiting = idleWorkers.poll(1, TimeUnit.SECONDS);
+                if (waiting != null) {
+                    idleWorkers.offer(waiting);
+                }
+            } catch (InterruptedException ignored) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Returns a download worker to the pool once its download job has completed, or discards it if it has stopped.
+     *
+     * @param worker The download worker.
+     */
+    private static void releaseWorker(Worker worker) {
+        if (worker.isAlive()) {
+            idleWorkers.offer(worker);
+            return;
+        }
+        
+        if (workers.remove(worker)) {
+            workerCount.decrementAndGet();
+            if (!worker.isReady()) {
+                logger.warn(Color.bad("The download worker stopped before it was ready, download workers will not be used"));
+                if (StringUtility.isNullOrBlank(Config.workerCommand)) {
+                    logger.warn(Color.bad("The default download worker requires the yt-dlp zip application, or yt_dlp installed in Python; otherwise set a custom workerCommand"));
+                }
+                disabled.set(true);
+            } else if (worker.isTimedOut()) {
+                logger.debug(Color.log("A download worker timed out, it will be restarted for the next download job"));
+            } else {
+                logger.debug(Color.log("A download worker stopped, it will be restarted for the next download job"));
+            }
+        }
+    }
+    
+    /**
+     * Parses the arguments of a command, splitting it on whitespace that is not quoted.
+     *
+     * @param cmd The command.
+     * @return The list of arguments of the command.
+     */
+    public static List<String> parseArguments(String cmd) {
+        final List<String> arguments = new ArrayList<>();
+        final StringBuilder argument = new StringBuilder();
+        boolean inArgument = false;
+        char quote = 0;
+        
+        for (char c : StringUtility.removeConsoleEscapeCharacters(cmd).toCharArray()) {
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                } else {
+                    argument.append(c);
+                }
+            } else if ((c == '"') || (c == '\'')) {
+                quote = c;
+                inArgument = true;
+            } else if (Character.isWhitespace(c)) {
+                if (inArgument) {
+                    arguments.add(argument.toString());
+                    argument.setLength(0);
+                    inArgument = false;
+                }
+            } else {
+                argument.append(c);
+                inArgument = true;
+            }
+        }
+        if (inArgument) {
+            arguments.add(argument.toString());
+        }
+        return arguments;
+    }
+    
+    
+    //Inner Classes
+    
+    /**
+     * Holds the download worker Config.
+     */
+    public static class Config {
+        
+        //Constants
+        
+        /**
+         * The default value of the maximum number of download workers that may run at the same time.
+         */
+        public static final Long DEFAULT_WORKERS = 0L;
+        
+        /**
+         * The default value of the maximum number of seconds a download job may take before its download worker is stopped.
+         */
+        public static final Long DEFAULT_WORKER_TIMEOUT = 3600L;
+        
+        
+        //Static Fields
+        
+        /**
+         * The maximum number of download workers that may run at the same time, or 0 to start a new process for each download.
+         */
+        public static Long workers = DEFAULT_WORKERS;
+        
+        /**
+         * The command that starts a download worker, or null to run the bundled worker script with the executable.
+         */
+        public static String workerCommand = null;
+        
+        /**
+         * The maximum number of seconds a download job may take before its download worker is stopped, or -1 for no limit.
+         */
+        public static Long workerTimeout = DEFAULT_WORKER_TIMEOUT;
+        
+        
+        //Static Methods
+        
+        /**
+         * Initializes the Config.
+         */
+        private static void init() {
+            workers = Configurator.getSetting(List.of(
+                            "workers",
+                            "download.workers",
+                            "process.workers",
+                            "process.download.workers"),
+                    DEFAULT_WORKERS);
+            workerCommand = Configurator.getSetting(List.of(
+                    "workerCommand",
+                    "download.workerCommand",
+                    "process.workerCommand",
+                    "process.download.workerCommand"));
+            workerTimeout = Configurator.getSetting(List.of(
+                            "workerTimeout",
+                            "download.workerTimeout",
+                            "process.workerTimeout",
+                            "process.download.workerTimeout"),
+                    DEFAULT_WORKER_TIMEOUT);
+        }
+        
+    }
+    
+    /**
+     * A persistent download worker process.
+     */
+    private static class Worker {
+        
+        //Fields
+        
+        /**
+         * The process of the download worker.
+         */
+        private final Process process;
+        
+        /**
+         * The writer to the stdin of the download worker.
+         */
+        private final BufferedWriter input;
+        
+        /**
+         * The lines of output from the download worker that have not been processed yet, followed by the end of output marker once the output has ended.
+         */
+        private final BlockingQueue<Object> output = new LinkedBlockingQueue<>();
+        
+        /**
+         * A flag indicating whether the download worker is running or not.
+         */
+        private final AtomicBoolean alive = new AtomicBoolean(true);
+        
+        /**
+         * A flag indicating whether the download worker has started and is ready for download jobs or not.
+         */
+        private final AtomicBoolean ready = new AtomicBoolean(false);
+        
+        /**
+         * A flag indicating whether the download worker was stopped because a download job timed out or not.
+         */
+        private final AtomicBoolean timedOut = new AtomicBoolean(false);
+        
+        
+        //Constructors
+        
+        /**
+         * Starts a new download worker.
+         *
+         * @throws IOException When the download worker could not be started.
+         */
+        public Worker() throws IOException {
+            final String cmd = getWorkerCommand();
+            logger.debug(Color.log("Starting download worker: ") + Color.quoted(cmd));
+            
+            final ProcessBuilder builder = Optional.ofNullable(CmdLine.buildProcess(cmd))
+                    .orElseThrow(() -> new IOException("Invalid worker command: " + StringUtility.quote(cmd)));
+            builder.redirectErrorStream(true);
+            
+            this.process = builder.start();
+            this.input = new BufferedWriter(new OutputStreamWriter(process.getOutputStream(), StandardCharsets.UTF_8));
+            workers.add(this);
+            
+            final Thread reader = new Thread(() -> {
+                try (BufferedReader outputReader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+                    String line;
+                    while ((line = outputReader.readLine()) != null) {
+                        if (!ready.get() && line.startsWith(READY_TAG)) {
+                            ready.set(true);
+                        } else {
+                            output.add(line);
+                        }
+                    }
+                } catch (Exception ignored) {
+                } finally {
+                    output.add(END_OF_OUTPUT);
+                }
+            });
+            reader.setDaemon(true);
+            reader.start();
+        }
+        
+        
+        //Methods
+        
+        /**
+         * Performs a download job.
+         *
+         * @param arguments   The arguments to the executable.
+         * @param lineHandler The handler to send each line of the output of the download job to, along with whether it is an error line.
+         * @param tailLines   The maximum number of lines of the output to retain, or -1 to retain all of it.
+         * @return The retained output of the download job, or null if the download worker stopped before completing the download job.
+         */
+        @SuppressWarnings("unchecked")
+        public String execute(List<String> arguments, BiConsumer<String, Boolean> lineHandler, int tailLines) {
+            final String jobId = String.valueOf(jobCount.incrementAndGet());
+            final Deque<String> response = new ArrayDeque<>();
+            
+            try {
+                input.write(JSONValue.toJSONString(Map.of("id", jobId, "args", arguments)));
+                input.newLine();
+                input.flush();
+            } catch (IOException e) {
+                stop();
+                return null;
+            }
+            
+            final long timeout = Optional.ofNullable(Config.workerTimeout).orElse(Config.DEFAULT_WORKER_TIMEOUT);
+            final long deadline = (timeout < 0) ? Long.MAX_VALUE : (System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(timeout));
+            
+            try {
+                while (true) {
+                    final long remaining = deadline - System.currentTimeMillis();
+                    if (remaining <= 0) {
+                        timedOut.set(true);
+                        stop();
+                        response.addLast(TIMEOUT_ERROR + " after " + timeout + " seconds");
+                        return StringUtility.unsplitLines(new ArrayList<>(response));
+                    }
+                    
+                    final Object next = output.poll(Math.min(remaining, TimeUnit.MINUTES.toMillis(1)), TimeUnit.MILLISECONDS);
+                    if (next == null) {
+                        continue;
+                    }
+                    if (next == END_OF_OUTPUT) {
+                        stop();
+                        return null;
+                    }
+                    final String line = (String) next;
+                    
+                    if (line.startsWith(JOB_TAG) &&
+                            Optional.of(line.substring(JOB_TAG.length()).strip())
+                                    .map((CheckedFunction<String, Map<String, Object>>) e -> (Map<String, Object>) new JSONParser().parse(e))
+                                    .map(e -> e.get("id")).filter(jobId::equals).isPresent()) {
+                        return StringUtility.unsplitLines(new ArrayList<>(response));
+                    }
+                    
+                    response.addLast(line);
+                    if ((tailLines >= 0) && (response.size() > tailLines)) {
+                        response.removeFirst();
+                    }
+                    if (lineHandler != null) {
+                        lineHandler.accept(line, false);
+                    }
+                }
+                
+            } catch (InterruptedException ignored) {
+                Thread.currentThread().interrupt();
+                stop();
+                return null;
+            }
+        }
+        
+        /**
+         * Stops the download worker.
+         */
+        public void stop() {
+            if (alive.compareAndSet(true, false)) {
+                try {
+                    input.close();
+                } catch (IOException ignored) {
+                }
+                if (process.isAlive() && !CmdLine.killProcess(process)) {
+                    logger.warn(Color.bad("Download worker with pid: ") + Color.number(process.pid()) + Color.bad(" could not be stopped"));
+                }
+            }
+        }
+        
+        /**
+         * Returns whether the download worker is running or not.
+         *
+         * @return Whether the download worker is running or not.
+         */
+        public boolean isAlive() {
+            return alive.get() && process.isAlive();
+        }
+        
+        
+        //Getters
+        
+        /**
+         * Returns whether the download worker has started and is ready for download jobs or not.
+         *
+         * @return Whether the download worker has started and is ready for download jobs or not.
+         */
+        public boolean isReady() {
+            return ready.get();
+        }
+        
+        /**
+         * Returns whether the download worker was stopped because a download job timed out or not.
+         *
+         * @return Whether the download worker was stopped because a download job timed out or not.
+         */
+        public boolean isTimedOut() {
+            return timedOut.get();
+        }
+        
+    }
+    
+}